@@ -1,7 +1,9 @@
 package com.example.sudoku_express.Controllers;
 
 import com.example.sudoku_express.Models.AlertBox;
+import com.example.sudoku_express.Models.Board;
 import com.example.sudoku_express.Views.MainView;
+import com.example.sudoku_express.Views.TournamentView;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -42,11 +44,22 @@ public class MenuController {
         }
     }
 
+    /**
+     * Evento que se ejecuta al presionar el botón "Torneo": muestra muchas partidas en vivo.
+     */
+    @FXML
+    private void onTorneoClicked(ActionEvent event) {
+        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+        TournamentView tournamentView = new TournamentView();
+        tournamentView.show(stage);
+    }
+
     /**
      * Evento que se ejecuta al presionar el botón "Salir".
      */
     @FXML
     private void onSalirClicked(ActionEvent event) {
+        Board.shutdown(); // System.exit no pasa por Application.stop
         System.exit(0);
     }
 }
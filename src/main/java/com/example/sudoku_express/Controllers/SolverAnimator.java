@@ -0,0 +1,120 @@
+package com.example.sudoku_express.Controllers;
+
+import com.example.sudoku_express.Models.SteppingSolver;
+import javafx.animation.AnimationTimer;
+
+/**
+ * Anima un {@link SteppingSolver} en el hilo de JavaFX.
+ * En cada cuadro avanza tantos pasos como indique la velocidad, pero nunca más de lo que
+ * cabe en el presupuesto de tiempo del cuadro: si la búsqueda no alcanza, se descarta el
+ * atraso en vez de congelar la ventana. Las celdas cambiadas se pintan una sola vez por cuadro.
+ */
+public class SolverAnimator extends AnimationTimer {
+
+    /** Pinta el valor de una celda (fila * size + columna) en la vista. */
+    public interface CellView {
+        void show(int cell, int value);
+    }
+
+    private static final long FRAME_BUDGET_NANOS = 4_000_000; // 4 ms de los ~16 ms de un cuadro
+
+    private final SteppingSolver solver;
+    private final CellView view;
+    private final Runnable onFinished;
+    private final boolean[] dirty;
+    private final int[] dirtyCells;
+    private int dirtyCount;
+
+    private double stepsPerSecond = 20;
+    private double pendingSteps;
+    private long lastFrame = -1;
+    private boolean paused = true;
+
+    public SolverAnimator(SteppingSolver solver, CellView view, Runnable onFinished) {
+        this.solver = solver;
+        this.view = view;
+        this.onFinished = onFinished;
+        int cells = solver.getSize() * solver.getSize();
+        this.dirty = new boolean[cells];
+        this.dirtyCells = new int[cells];
+    }
+
+    @Override
+    public void handle(long now) {
+        if (paused) {
+            lastFrame = -1;
+            return;
+        }
+        if (lastFrame < 0) lastFrame = now;
+        pendingSteps += stepsPerSecond * (now - lastFrame) / 1e9;
+        lastFrame = now;
+
+        long frameStart = System.nanoTime();
+        while (pendingSteps >= 1 && solver.getStatus() == SteppingSolver.Status.RUNNING) {
+            markDirty(solver.step());
+            pendingSteps--;
+            if (System.nanoTime() - frameStart > FRAME_BUDGET_NANOS) {
+                pendingSteps = 0; // presupuesto agotado: no acumular atraso
+                break;
+            }
+        }
+        paintDirty();
+
+        if (solver.getStatus() != SteppingSolver.Status.RUNNING) {
+            paused = true;
+            onFinished.run();
+        }
+    }
+
+    /** Reanuda la animación. */
+    public void play() {
+        paused = false;
+        pendingSteps = 0;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /** Avanza un solo paso (útil en pausa). */
+    public void stepOnce() {
+        markDirty(solver.step());
+        paintDirty();
+        if (solver.getStatus() != SteppingSolver.Status.RUNNING) onFinished.run();
+    }
+
+    /** Deshace un solo paso. */
+    public void rewindOnce() {
+        markDirty(solver.rewind());
+        paintDirty();
+    }
+
+    /** Pasos por segundo (se respeta mientras quepan en el presupuesto del cuadro). */
+    public void setStepsPerSecond(double stepsPerSecond) {
+        this.stepsPerSecond = Math.max(0, stepsPerSecond);
+    }
+
+    public SteppingSolver getSolver() {
+        return solver;
+    }
+
+    private void markDirty(int cell) {
+        if (cell >= 0 && !dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
+        }
+    }
+
+    private void paintDirty() {
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            dirty[cell] = false;
+            view.show(cell, solver.getValue(cell));
+        }
+        dirtyCount = 0;
+    }
+}
@@ -2,14 +2,23 @@ package com.example.sudoku_express.Controllers;
 
 import com.example.sudoku_express.Models.AlertBox;
 import com.example.sudoku_express.Models.Board;
+import com.example.sudoku_express.Models.DifficultyStats;
+import com.example.sudoku_express.Models.GameResult;
 import com.example.sudoku_express.Models.Hint;
 import com.example.sudoku_express.Models.HintSolver;
+import com.example.sudoku_express.Models.StatsStore;
+import com.example.sudoku_express.Models.SteppingSolver;
 import com.example.sudoku_express.Models.Validator;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.HPos;
+import javafx.geometry.VPos;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.GridPane;
@@ -19,26 +28,50 @@ public class SudokuController {
     @FXML private GridPane sudokuGrid;
     @FXML private Button restartButton;
     @FXML private Button helpButton;
+    @FXML private ToggleButton notesButton;
+    @FXML private ToggleButton autoNotesButton;
+    @FXML private Button solveButton;
+    @FXML private Button stepButton;
+    @FXML private Button backButton;
+    @FXML private Slider speedSlider;
 
     private final Board board = Board.getInstance();
     private final Validator validator = new Validator();
     private final HintSolver hintSolver = new HintSolver();
     private final AlertBox alertBox = new AlertBox();
+    private final StatsStore stats = StatsStore.openDefault();
+    private final String player = System.getProperty("user.name", "jugador");
 
     private final TextField[][] cells = new TextField[6][6];
+    private final Label[][] noteLabels = new Label[6][6];
     private TextField selectedCell = null;
     private int selectedRow = -1;
     private int selectedCol = -1;
 
+    // Datos de la partida en curso para las estadísticas
+    private long gameStartNanos;
+    private int hintsUsed;
+    private int errorsMade;
+    private boolean gameFinished;
+
+    // Partida en pantalla, para registrarla como abandonada si se cierra la aplicación
+    private static SudokuController activeGame;
+
+    // Visualización paso a paso del solver (null si no se está mostrando)
+    private SolverAnimator solverAnimator;
+
     /**
      * Inicializa el controlador: enlaza las celdas, carga el tablero y configura eventos.
      */
     @FXML
     public void initialize() {
         linkCellsFromGrid();
+        createNoteLabels();
         loadModelToView();
         configureCellEvents();
         configureButtons();
+        startGameStats();
+        watchLeavingView();
     }
 
     /**
@@ -58,6 +91,23 @@ public class SudokuController {
         });
     }
 
+    /**
+     * Crea una etiqueta de notas encima de cada celda (no recibe eventos del mouse).
+     */
+    private void createNoteLabels() {
+        for (int r = 0; r < 6; r++) {
+            for (int c = 0; c < 6; c++) {
+                Label label = new Label();
+                label.setMouseTransparent(true);
+                label.setStyle(styleNotes());
+                GridPane.setHalignment(label, HPos.CENTER);
+                GridPane.setValignment(label, VPos.CENTER);
+                sudokuGrid.add(label, c, r);
+                noteLabels[r][c] = label;
+            }
+        }
+    }
+
     /**
      * Carga el tablero del modelo a la vista.
      */
@@ -82,6 +132,7 @@ public class SudokuController {
                 }
             }
         }
+        refreshAllNotes();
     }
 
     /**
@@ -101,7 +152,7 @@ public class SudokuController {
 
                 // Entrada de texto
                 tf.addEventHandler(KeyEvent.KEY_TYPED, ev -> {
-                    if (tf.isDisabled()) {
+                    if (tf.isDisabled() || solverAnimator != null) {
                         ev.consume();
                         return;
                     }
@@ -115,28 +166,23 @@ public class SudokuController {
                     if (ch.matches("[1-6]")) {
                         int number = Integer.parseInt(ch);
 
-                        // Validación manual correcta que ignora la celda actual
-                        boolean valid = true;
-                        int[][] current = board.getBoard();
-
-                        for (int i = 0; i < 6 && valid; i++) {
-                            if (i != col && current[row][i] == number) valid = false; // fila
-                            if (i != row && current[i][col] == number) valid = false; // columna
+                        // Modo notas: el número se anota como marca de lápiz
+                        if (notesButton.isSelected() && board.cellVGet(row, col) == 0) {
+                            board.toggleNote(row, col, number);
+                            refreshNotes(row, col);
+                            ev.consume();
+                            return;
                         }
 
-                        int blockRow = (row / 2) * 2;
-                        int blockCol = (col / 3) * 3;
-                        for (int rr = blockRow; rr < blockRow + 2 && valid; rr++) {
-                            for (int cc = blockCol; cc < blockCol + 3; cc++) {
-                                if (rr == row && cc == col) continue;
-                                if (current[rr][cc] == number) valid = false;
-                            }
-                        }
+                        // Validación con las reglas compiladas (ignora la celda actual)
+                        boolean valid = board.getModel().canPlace(board.getBoard(), row, col, number);
 
                         // Aplicar número al modelo y vista
                         board.cellMod(row, col, number);
                         tf.setText(String.valueOf(number));
                         tf.setStyle(valid ? styleValid() : styleInvalid());
+                        if (!valid) errorsMade++;
+                        refreshNotesAround(row, col);
 
                         Platform.runLater(this::checkWinCondition);
                         ev.consume();
@@ -147,7 +193,7 @@ public class SudokuController {
 
                 // Teclas especiales (borrar)
                 tf.addEventHandler(KeyEvent.KEY_PRESSED, ev -> {
-                    if (tf.isDisabled()) {
+                    if (tf.isDisabled() || solverAnimator != null) {
                         ev.consume();
                         return;
                     }
@@ -156,6 +202,7 @@ public class SudokuController {
                         board.cellMod(row, col, 0);
                         tf.setText("");
                         tf.setStyle(styleNormal());
+                        refreshNotesAround(row, col);
                         ev.consume();
                     }
                 });
@@ -169,6 +216,136 @@ public class SudokuController {
     private void configureButtons() {
         restartButton.setOnAction(e -> confirmAndRestart());
         helpButton.setOnAction(e -> applyHelpHint());
+        autoNotesButton.setOnAction(e -> refreshAllNotes());
+        solveButton.setOnAction(e -> toggleSolver());
+        stepButton.setOnAction(e -> {
+            ensureSolver();
+            solverAnimator.pause();
+            solverAnimator.stepOnce();
+            updateSolverButton();
+        });
+        backButton.setOnAction(e -> {
+            if (solverAnimator == null) return;
+            solverAnimator.pause();
+            solverAnimator.rewindOnce();
+            updateSolverButton();
+        });
+        speedSlider.valueProperty().addListener(o -> {
+            if (solverAnimator != null) solverAnimator.setStepsPerSecond(speedSlider.getValue());
+        });
+    }
+
+    /* ---------------------- Solver paso a paso ---------------------- */
+
+    /**
+     * Crea el solver a partir de las pistas fijas. Ver la solución cuenta como partida abandonada.
+     */
+    private void ensureSolver() {
+        if (solverAnimator != null) return;
+
+        if (!gameFinished) recordGame(false);
+        for (int r = 0; r < 6; r++) {
+            for (int c = 0; c < 6; c++) {
+                if (!board.cellSGet(r, c)) showSolverCell(r * 6 + c, 0);
+            }
+        }
+
+        SteppingSolver solver = new SteppingSolver(board.getModel(), board.getBoard(), 100_000);
+        solverAnimator = new SolverAnimator(solver, this::showSolverCell, this::updateSolverButton);
+        solverAnimator.setStepsPerSecond(speedSlider.getValue());
+        solverAnimator.start();
+    }
+
+    /**
+     * Reproduce o pausa la animación del solver.
+     */
+    private void toggleSolver() {
+        ensureSolver();
+        if (solverAnimator.isPaused()) solverAnimator.play();
+        else solverAnimator.pause();
+        updateSolverButton();
+    }
+
+    /**
+     * Detiene y descarta la animación del solver (al reiniciar el tablero).
+     */
+    private void stopSolver() {
+        if (solverAnimator == null) return;
+        solverAnimator.stop();
+        solverAnimator = null;
+        updateSolverButton();
+    }
+
+    private void updateSolverButton() {
+        if (solverAnimator == null) {
+            solveButton.setText("VER RESOLVER");
+        } else if (solverAnimator.getSolver().getStatus() != SteppingSolver.Status.RUNNING) {
+            solveButton.setText("RESUELTO");
+        } else {
+            solveButton.setText(solverAnimator.isPaused() ? "CONTINUAR" : "PAUSA");
+        }
+    }
+
+    /**
+     * Pinta una celda cambiada por el solver en el modelo y en la vista.
+     * No pasa por cellMod: los pasos del solver no son jugadas y no se envían a una carrera.
+     */
+    private void showSolverCell(int cell, int value) {
+        int r = cell / 6;
+        int c = cell % 6;
+        TextField tf = cells[r][c];
+        board.cellModBySolver(r, c, value);
+        if (tf != null) {
+            tf.setText(value == 0 ? "" : String.valueOf(value));
+            tf.setStyle(value == 0 ? styleNormal() : styleSolver());
+        }
+        refreshNotesAround(r, c);
+    }
+
+    /* ---------------------- Notas ---------------------- */
+
+    /**
+     * Redibuja las notas de todas las celdas (solo al cargar o cambiar de modo).
+     */
+    private void refreshAllNotes() {
+        for (int r = 0; r < 6; r++) {
+            for (int c = 0; c < 6; c++) {
+                refreshNotes(r, c);
+            }
+        }
+    }
+
+    /**
+     * Redibuja las notas de una celda y de sus vecinos: son las únicas que cambian con cellMod.
+     */
+    private void refreshNotesAround(int row, int col) {
+        refreshNotes(row, col);
+        for (int peer : board.getModel().peersOf(row * 6 + col)) {
+            refreshNotes(peer / 6, peer % 6);
+        }
+    }
+
+    /**
+     * Muestra las notas automáticas o manuales de una celda vacía.
+     */
+    private void refreshNotes(int row, int col) {
+        Label label = noteLabels[row][col];
+        if (label == null) return;
+
+        if (board.cellVGet(row, col) != 0) {
+            label.setText("");
+            return;
+        }
+
+        int mask = autoNotesButton.isSelected() ? board.getCandidates(row, col) : board.getNotes(row, col);
+
+        StringBuilder sb = new StringBuilder();
+        for (int d = 1; d <= 6; d++) {
+            sb.append((mask & (1 << d)) != 0 ? (char) ('0' + d) : ' ');
+            if (d == 3) sb.append('\n');
+            else if (d != 6) sb.append(' ');
+        }
+        label.setText(sb.toString());
     }
 
     /**
@@ -201,8 +378,11 @@ public class SudokuController {
 
         var result = confirm.showAndWait();
         if (result.isPresent() && result.get() == javafx.scene.control.ButtonType.OK) {
+            stopSolver();
+            recordGame(false);
             board.regenerateBoard();
             loadModelToView();
+            startGameStats();
             alertBox.showAlertBox("Reinicio", "Se generó un nuevo tablero.", "Reinicio exitoso");
             selectedCell = null;
             selectedRow = -1;
@@ -214,6 +394,8 @@ public class SudokuController {
      * Usa el HintSolver para mostrar una pista.
      */
     private void applyHelpHint() {
+        if (solverAnimator != null) return;
+
         Hint hint = hintSolver.generateHint(board.getBoard(), board.getFixed());
         if (hint == null) {
             alertBox.showWarningAlertBox("ERROR", "No es Posible Solucionar Por Completo el Tablero Con Pistas", "Terminar Manualmente");
@@ -225,18 +407,16 @@ public class SudokuController {
         int value = hint.value;
 
         TextField tf = cells[r][c];
+        hintsUsed++;
         board.cellMod(r, c, value);
         tf.setText(String.valueOf(value));
         tf.setStyle(styleHint());
+        refreshNotesAround(r, c);
         alertBox.showAlertBox("Pista", String.format("Sugerencia: fila %d columna %d = %d", r + 1, c + 1, value), "Ayuda");
 
         Platform.runLater(this::checkWinCondition);
     }
 
-    /**
-     * Verifica si el jugador ha completado el Sudoku correctamente.
-     * Si lo hizo, muestra una alerta de victoria.
-     */
     /**
      * Verifica si el jugador ha completado el Sudoku correctamente.
      * Si lo hizo, muestra una alerta de victoria.
@@ -244,50 +424,85 @@ public class SudokuController {
     private void checkWinCondition() {
         int[][] grid = board.getBoard();
 
-        // Verificar si hay celdas vacías
-        for (int r = 0; r < 6; r++) {
-            for (int c = 0; c < 6; c++) {
-                if (grid[r][c] == 0) {
-                    return; // aún no está completo
-                }
-            }
-        }
+        // Verificar que esté completo y cumpla todas las reglas compiladas
+        if (!board.getModel().isSolved(grid)) return;
 
-        // Verificar filas, columnas y bloques
-        for (int r = 0; r < 6; r++) {
-            boolean[] fila = new boolean[7];
-            boolean[] columna = new boolean[7];
+        //  Si pasa todas las validaciones, registrar la victoria (una sola vez)
+        if (gameFinished) return;
+        long millis = recordGame(true);
 
-            for (int c = 0; c < 6; c++) {
-                int numFila = grid[r][c];
-                int numCol = grid[c][r];
+        DifficultyStats mine = stats.player(player, board.getDifficulty());
+        DifficultyStats all = stats.global(board.getDifficulty());
+        String message = String.format("Has completado correctamente el Sudoku (%s) en %s.%n"
+                        + "Tu mediana: %s · Global p50/p90/p99: %s / %s / %s%n"
+                        + "Victorias: %.0f%%",
+                board.getDifficulty().getLabel(), formatTime(millis), formatTime(mine.solveTimePercentile(50)),
+                formatTime(all.solveTimePercentile(50)), formatTime(all.solveTimePercentile(90)),
+                formatTime(all.solveTimePercentile(99)), mine.getWinRate() * 100);
 
-                if (fila[numFila]) return; // número repetido en fila
-                if (columna[numCol]) return; // número repetido en columna
+        Platform.runLater(() -> {
+            alertBox.showAlertBox("🎉 ¡Felicidades!", message, "Victoria");
+        });
+    }
 
-                fila[numFila] = true;
-                columna[numCol] = true;
-            }
-        }
+    /* ---------------------- Estadísticas ---------------------- */
 
-        //  Verificar bloques 2x3
-        for (int blockRow = 0; blockRow < 6; blockRow += 2) {
-            for (int blockCol = 0; blockCol < 6; blockCol += 3) {
-                boolean[] blockCheck = new boolean[7];
-                for (int r = blockRow; r < blockRow + 2; r++) {
-                    for (int c = blockCol; c < blockCol + 3; c++) {
-                        int num = grid[r][c];
-                        if (blockCheck[num]) return; // número repetido en bloque
-                        blockCheck[num] = true;
-                    }
-                }
-            }
+    /**
+     * Cuando la ventana pasa a mostrar otra escena (p. ej. se vuelve al menú),
+     * la partida sin terminar se registra como abandonada.
+     */
+    private void watchLeavingView() {
+        activeGame = this;
+        sudokuGrid.sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (scene == null) return;
+            scene.windowProperty().addListener((o, oldWindow, window) -> {
+                if (window == null) return;
+                window.sceneProperty().addListener((o2, previous, current) -> {
+                    if (current != scene) abandonGame();
+                });
+            });
+        });
+    }
+
+    /**
+     * Registra como abandonada la partida en pantalla, si la hay.
+     * Llamar al cerrar la aplicación (HelloApplication.stop).
+     */
+    public static void abandonActiveGame() {
+        if (activeGame != null) activeGame.abandonGame();
+    }
+
+    private void abandonGame() {
+        stopSolver();
+        if (!gameFinished) recordGame(false);
+        if (activeGame == this) activeGame = null;
+    }
+
+    /**
+     * Reinicia los contadores de la partida que empieza.
+     */
+    private void startGameStats() {
+        gameStartNanos = System.nanoTime();
+        hintsUsed = 0;
+        errorsMade = 0;
+        gameFinished = false;
+    }
+
+    /**
+     * Registra la partida actual como ganada o abandonada y devuelve su duración en ms.
+     */
+    private long recordGame(boolean won) {
+        long millis = (System.nanoTime() - gameStartNanos) / 1_000_000;
+        if (!gameFinished) {
+            gameFinished = true;
+            stats.record(new GameResult(player, board.getDifficulty(), millis, hintsUsed, errorsMade, won));
         }
+        return millis;
+    }
 
-        //  Si pasa todas las validaciones, mostrar mensaje de victoria
-        Platform.runLater(() -> {
-            alertBox.showAlertBox("🎉 ¡Felicidades!", "Has completado correctamente el Sudoku.", "Victoria");
-        });
+    private String formatTime(long millis) {
+        long seconds = millis / 1000;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
     }
 
 
@@ -313,6 +528,14 @@ public class SudokuController {
         return "-fx-background-color: rgba(255,0,0,0.12); -fx-border-color: #ff0000; -fx-text-fill: white; -fx-font-weight: bold; -fx-border-radius: 5;";
     }
 
+    private String styleNotes() {
+        return "-fx-text-fill: #f5deb3; -fx-font-size: 10px; -fx-font-family: 'Monospaced';";
+    }
+
+    private String styleSolver() {
+        return "-fx-background-color: rgba(186,85,211,0.16); -fx-border-color: #ba55d3; -fx-text-fill: white; -fx-font-weight: bold; -fx-border-radius: 5;";
+    }
+
     private String styleHint() {
         return "-fx-background-color: rgba(0,200,255,0.14); -fx-border-color: #00bfff; -fx-text-fill: white; -fx-font-weight: bold; -fx-border-radius: 5;";
     }
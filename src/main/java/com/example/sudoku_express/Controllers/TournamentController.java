@@ -0,0 +1,85 @@
+package com.example.sudoku_express.Controllers;
+
+import com.example.sudoku_express.Models.AlertBox;
+import com.example.sudoku_express.Models.TournamentSimulator;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+
+/**
+ * Controlador de la vista de torneo: muchas partidas de bots en vivo.
+ * Todo se dibuja en un Canvas del tamaño del área visible; la barra solo cambia
+ * qué filas de tableros se pintan.
+ */
+public class TournamentController {
+
+    private static final int BOARDS = 120;
+    private static final double MOVES_PER_SECOND = 4;
+    private static final int BOT_THREADS = 2;
+
+    @FXML private Pane boardArea;
+    @FXML private ScrollBar scrollBar;
+    @FXML private Label statusLabel;
+
+    private final Canvas canvas = new Canvas();
+    private TournamentSimulator simulator;
+    private TournamentRenderer renderer;
+
+    @FXML
+    public void initialize() {
+        simulator = new TournamentSimulator(BOARDS, MOVES_PER_SECOND, BOT_THREADS);
+        renderer = new TournamentRenderer(canvas, simulator.getSessions(), simulator.getDirtyQueue(),
+                statusLabel::setText);
+        boardArea.getChildren().add(canvas);
+
+        // 🔹 El Canvas sigue el tamaño del área: nunca es más grande que lo visible
+        boardArea.widthProperty().addListener(o -> resize());
+        boardArea.heightProperty().addListener(o -> resize());
+        scrollBar.valueProperty().addListener(o -> renderer.setScrollY(scrollBar.getValue()));
+        canvas.setOnScroll(e -> scrollTo(scrollBar.getValue() - e.getDeltaY()));
+
+        simulator.start();
+        renderer.start();
+    }
+
+    private void resize() {
+        canvas.setWidth(boardArea.getWidth());
+        canvas.setHeight(boardArea.getHeight());
+        renderer.invalidateLayout();
+
+        double viewport = boardArea.getHeight();
+        double max = Math.max(0, renderer.contentHeight() - viewport);
+        scrollBar.setMax(max);
+        scrollBar.setVisibleAmount(viewport * max / Math.max(1, renderer.contentHeight()));
+        scrollBar.setUnitIncrement(renderer.getTileHeight() / 4);
+        scrollBar.setBlockIncrement(viewport);
+        scrollTo(scrollBar.getValue());
+    }
+
+    private void scrollTo(double value) {
+        scrollBar.setValue(Math.max(0, Math.min(value, Math.max(0, renderer.contentHeight() - boardArea.getHeight()))));
+    }
+
+    /** Detiene bots y dibujo, y vuelve al menú principal. */
+    @FXML
+    private void onVolverClicked(ActionEvent event) {
+        renderer.stop();
+        simulator.stop();
+        try {
+            Stage stage = (Stage) boardArea.getScene().getWindow();
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/sudoku_express/MenuInicio.fxml"));
+            stage.setScene(new Scene(loader.load()));
+            stage.setFullScreen(true);
+        } catch (Exception e) {
+            AlertBox alertBox = new AlertBox();
+            alertBox.showWarningAlertBox("Error", "No se pudo volver al menú: " + e.getMessage(), "Error al cargar vista");
+            e.printStackTrace();
+        }
+    }
+}
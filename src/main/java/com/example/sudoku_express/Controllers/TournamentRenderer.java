@@ -0,0 +1,192 @@
+package com.example.sudoku_express.Controllers;
+
+import com.example.sudoku_express.Models.BoardSession;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * Dibuja muchos tableros en un solo Canvas del tamaño de la ventana (no uno por tablero).
+ * Solo existen en pantalla las filas de tableros visibles según el desplazamiento: al bajar,
+ * se vuelven a pintar las mismas posiciones con otros tableros.
+ *
+ * Los cambios de las partidas se juntan en una cola y se vacían una vez por pulso de JavaFX;
+ * cada tablero sucio y visible se repinta entero (un rectángulo y a lo sumo 36 números), así que
+ * el costo de un cuadro depende de lo que cambió en pantalla y no del número de partidas.
+ */
+public class TournamentRenderer extends AnimationTimer {
+
+    private static final double CELL = 22;
+    private static final double HEADER = 22;
+    private static final double GAP = 14;
+
+    private static final Color BACKGROUND = Color.web("#4b2e05");
+    private static final Color TILE = Color.web("#2e1c07");
+    private static final Color CELL_EMPTY = Color.web("#f5deb3");
+    private static final Color CELL_FIXED = Color.web("#d2a679");
+    private static final Color LINE = Color.web("#8b5a2b");
+    private static final Color TEXT = Color.web("#2e1c07");
+    private static final Color TEXT_PLAYED = Color.web("#1f4e8c");
+    private static final Color TEXT_WRONG = Color.web("#b22222");
+    private static final Color HEADER_TEXT = Color.web("#f5deb3");
+    private static final Font DIGIT_FONT = Font.font("System", FontWeight.BOLD, 14);
+    private static final Font HEADER_FONT = Font.font("System", FontWeight.BOLD, 12);
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final List<BoardSession> sessions;
+    private final Queue<BoardSession> dirtyQueue;
+    private final Consumer<String> status;
+    private final double tileWidth;
+    private final double tileHeight;
+
+    private double scrollY;
+    private boolean layoutChanged = true;
+
+    private long statusSince = -1;
+    private int frames;
+    private long repaints;
+
+    /**
+     * @param status recibe una vez por segundo un resumen (cuadros por segundo y tableros repintados)
+     */
+    public TournamentRenderer(Canvas canvas, List<BoardSession> sessions, Queue<BoardSession> dirtyQueue,
+                              Consumer<String> status) {
+        this.canvas = canvas;
+        this.gc = canvas.getGraphicsContext2D();
+        this.sessions = sessions;
+        this.dirtyQueue = dirtyQueue;
+        this.status = status;
+        int size = sessions.isEmpty() ? 6 : sessions.get(0).getSize();
+        this.tileWidth = size * CELL + GAP;
+        this.tileHeight = HEADER + size * CELL + GAP;
+    }
+
+    @Override
+    public void handle(long now) {
+        int columns = columns();
+        int firstRow = (int) (scrollY / tileHeight);
+        int lastRow = (int) ((scrollY + canvas.getHeight()) / tileHeight);
+        int firstVisible = firstRow * columns;
+        int lastVisible = Math.min(sessions.size() - 1, (lastRow + 1) * columns - 1);
+
+        // 🔹 Vaciar la cola una sola vez por pulso (acotado para no perseguir a los bots)
+        int budget = sessions.size();
+        BoardSession session;
+        while (budget-- > 0 && (session = dirtyQueue.poll()) != null) {
+            session.takeDirty();
+            int index = session.getId();
+            if (!layoutChanged && index >= firstVisible && index <= lastVisible) {
+                drawTile(index, columns);
+                repaints++;
+            }
+        }
+
+        // 🔹 Tras desplazar o cambiar de tamaño se repinta solo lo visible
+        if (layoutChanged) {
+            layoutChanged = false;
+            gc.setFill(BACKGROUND);
+            gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            for (int i = firstVisible; i <= lastVisible; i++) drawTile(i, columns);
+            repaints += Math.max(0, lastVisible - firstVisible + 1);
+        }
+
+        reportStatus(now);
+    }
+
+    /** Desplazamiento vertical en píxeles. */
+    public void setScrollY(double scrollY) {
+        if (scrollY != this.scrollY) {
+            this.scrollY = scrollY;
+            layoutChanged = true;
+        }
+    }
+
+    /** Avisar cuando cambia el tamaño del Canvas. */
+    public void invalidateLayout() {
+        layoutChanged = true;
+    }
+
+    /** Alto total que ocuparían todos los tableros con el ancho actual. */
+    public double contentHeight() {
+        int rows = (sessions.size() + columns() - 1) / columns();
+        return rows * tileHeight + GAP;
+    }
+
+    public double getTileHeight() {
+        return tileHeight;
+    }
+
+    private int columns() {
+        return Math.max(1, (int) ((canvas.getWidth() - GAP) / tileWidth));
+    }
+
+    private void drawTile(int index, int columns) {
+        BoardSession s = sessions.get(index);
+        int size = s.getSize();
+        double x = GAP + (index % columns) * tileWidth;
+        double y = GAP + (index / columns) * tileHeight - scrollY;
+        double boardSize = size * CELL;
+
+        // Encabezado: nombre, avance y errores
+        gc.setFill(TILE);
+        gc.fillRect(x - 3, y - 3, boardSize + 6, HEADER + boardSize + 6);
+        gc.setFill(HEADER_TEXT);
+        gc.setFont(HEADER_FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(s.getName() + "  " + s.getFilled() + "/" + size * size
+                + "  ✗" + s.getErrors() + "  ★" + s.getWins(), x, y + HEADER / 2 - 2);
+
+        // Celdas
+        double top = y + HEADER;
+        gc.setFont(DIGIT_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        for (int cell = 0; cell < size * size; cell++) {
+            double cx = x + (cell % size) * CELL;
+            double cy = top + (cell / size) * CELL;
+            boolean fixed = s.isFixed(cell);
+            gc.setFill(fixed ? CELL_FIXED : CELL_EMPTY);
+            gc.fillRect(cx, cy, CELL, CELL);
+            int value = s.getValue(cell);
+            if (value != 0) {
+                gc.setFill(fixed ? TEXT : s.isWrong(cell) ? TEXT_WRONG : TEXT_PLAYED);
+                gc.fillText(Integer.toString(value), cx + CELL / 2, cy + CELL / 2);
+            }
+        }
+
+        // Líneas: finas entre celdas, gruesas entre bloques
+        gc.setStroke(LINE);
+        for (int i = 0; i <= size; i++) {
+            boolean rowBlock = i % s.getBlockRows() == 0;
+            boolean colBlock = i % s.getBlockCols() == 0;
+            gc.setLineWidth(rowBlock ? 2 : 0.5);
+            gc.strokeLine(x, top + i * CELL, x + boardSize, top + i * CELL);
+            gc.setLineWidth(colBlock ? 2 : 0.5);
+            gc.strokeLine(x + i * CELL, top, x + i * CELL, top + boardSize);
+        }
+    }
+
+    private void reportStatus(long now) {
+        if (statusSince < 0) statusSince = now;
+        frames++;
+        long elapsed = now - statusSince;
+        if (elapsed >= 1_000_000_000L) {
+            double seconds = elapsed / 1e9;
+            status.accept(String.format("%d tableros · %.0f fps · %.0f repintados/s",
+                    sessions.size(), frames / seconds, repaints / seconds));
+            statusSince = now;
+            frames = 0;
+            repaints = 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.sudoku_express.Export;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Escritor PNG mínimo para imágenes TYPE_BYTE_GRAY.
+ * ImageIO comprime con el nivel más lento y reserva búferes en cada llamada; aquí cada
+ * hilo reutiliza su Deflater (nivel rápido) y sus arreglos, y la hoja casi blanca
+ * se comprime igual de bien. Una instancia por hilo: no es seguro compartirla.
+ */
+class GrayPngWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final CRC32 crc = new CRC32();
+    private byte[] raw = new byte[0];
+    private byte[] compressed = new byte[64 * 1024];
+
+    void write(BufferedImage image, Path file) throws IOException {
+        if (image.getType() != BufferedImage.TYPE_BYTE_GRAY) {
+            throw new IllegalArgumentException("Solo se admiten imágenes en escala de grises");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+
+        // Cada fila lleva delante su tipo de filtro (0 = ninguno)
+        int stride = width + 1;
+        if (raw.length < stride * height) raw = new byte[stride * height];
+        for (int y = 0; y < height; y++) {
+            raw[y * stride] = 0;
+            System.arraycopy(pixels, y * width, raw, y * stride + 1, width);
+        }
+
+        deflater.reset();
+        deflater.setInput(raw, 0, stride * height);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) compressed = java.util.Arrays.copyOf(compressed, compressed.length * 2);
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8;  // bits por muestra
+        header[9] = 0;  // escala de grises
+        // compresión, filtro y entrelazado: 0
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(SIGNATURE);
+            writeChunk(out, "IHDR", header, header.length);
+            writeChunk(out, "IDAT", compressed, length);
+            writeChunk(out, "IEND", new byte[0], 0);
+        }
+    }
+
+    private void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] prefix = new byte[8];
+        putInt(prefix, 0, length);
+        for (int i = 0; i < 4; i++) prefix[4 + i] = (byte) type.charAt(i);
+        crc.reset();
+        crc.update(prefix, 4, 4);
+        crc.update(data, 0, length);
+        byte[] suffix = new byte[4];
+        putInt(suffix, 0, (int) crc.getValue());
+
+        out.write(prefix);
+        out.write(data, 0, length);
+        out.write(suffix);
+    }
+
+    private static void putInt(byte[] b, int offset, int value) {
+        b[offset] = (byte) (value >>> 24);
+        b[offset + 1] = (byte) (value >>> 16);
+        b[offset + 2] = (byte) (value >>> 8);
+        b[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.sudoku_express.Export;
+
+import com.example.sudoku_express.Models.ConstraintModel;
+import com.example.sudoku_express.Models.PuzzleGenerator;
+import com.example.sudoku_express.Models.RuleSet;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Exporta tableros y sus soluciones a hojas PNG paginadas, sin abrir ninguna ventana.
+ * Los tableros salen del PuzzleGenerator o de un archivo de texto; las páginas se
+ * generan y dibujan en paralelo (una tarea por página) en todos los núcleos.
+ *
+ * Uso: PuzzleSheetExporter carpetaSalida [cantidad=100] [archivoTableros]
+ *
+ * Formato del archivo: una línea por tablero con size*size caracteres en orden de lectura
+ * ('0' o '.' = vacía) y, opcionalmente, un espacio y la solución en el mismo formato.
+ * Las líneas vacías o que empiezan con '#' se ignoran.
+ */
+public class PuzzleSheetExporter {
+
+    private final RuleSet rules;
+    private final SheetRenderer renderer;
+    private final ThreadLocal<PuzzleGenerator> generators = ThreadLocal.withInitial(PuzzleGenerator::new);
+    private final ThreadLocal<GrayPngWriter> pngWriters = ThreadLocal.withInitial(GrayPngWriter::new);
+
+    public PuzzleSheetExporter(RuleSet rules) {
+        this.rules = rules;
+        this.renderer = new SheetRenderer(rules.getSize(), rules.getBlockRows(), rules.getBlockCols());
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length < 1) {
+            System.err.println("Uso: PuzzleSheetExporter carpetaSalida [cantidad=100] [archivoTableros]");
+            return;
+        }
+        Path outDir = Paths.get(args[0]);
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        long start = System.nanoTime();
+        int pages;
+        if (args.length > 2) {
+            List<int[][][]> entries;
+            try {
+                entries = readPuzzleFile(Paths.get(args[2]));
+            } catch (IllegalArgumentException e) {
+                System.err.println("❌ " + e.getMessage());
+                return;
+            }
+            if (entries.isEmpty()) {
+                System.err.println("El archivo no contiene tableros");
+                return;
+            }
+            int size = entries.get(0)[0].length;
+            try {
+                pages = new PuzzleSheetExporter(geometryFor(size)).export(entries, outDir);
+            } catch (IllegalArgumentException e) {
+                System.err.println("❌ " + e.getMessage());
+                return;
+            }
+            count = entries.size();
+        } else {
+            pages = new PuzzleSheetExporter(RuleSet.standard(6, 2, 3)).exportGenerated(count, outDir);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%d tableros en %d páginas (+ soluciones) en %d ms%n", count, pages, elapsedMs);
+    }
+
+    /** Genera count tableros nuevos y los exporta. Devuelve el número de páginas de juego. */
+    public int exportGenerated(int count, Path outDir) throws IOException {
+        ConstraintModel model = ConstraintModel.compile(rules);
+        return exportPages(count, outDir, index -> {
+            PuzzleGenerator generator = generators.get();
+            int[][] solution = generator.generateFullSolution(model);
+            return new int[][][]{generator.generatePuzzleFromSolution(solution, model), solution};
+        });
+    }
+
+    /**
+     * Exporta tableros ya cargados ({tablero, solución o null}). Devuelve el número de páginas de juego.
+     * Antes de dibujar nada se resuelven los que no traen solución y se comprueban los que sí.
+     *
+     * @throws IllegalArgumentException si una entrada es de otro tamaño, no tiene solución
+     *                                  o trae una solución que no corresponde al tablero
+     */
+    public int export(List<int[][][]> entries, Path outDir) throws IOException {
+        int[][][][] complete = completeSolutions(entries);
+        return exportPages(complete.length, outDir, index -> complete[index]);
+    }
+
+    private int[][][][] completeSolutions(List<int[][][]> entries) {
+        ConstraintModel model = ConstraintModel.compile(rules);
+        int size = rules.getSize();
+        int[][][][] complete = new int[entries.size()][][][];
+        IntStream.range(0, entries.size()).parallel().forEach(i -> {
+            int[][] puzzle = entries.get(i)[0];
+            int[][] solution = entries.get(i)[1];
+            if (puzzle.length != size || (solution != null && solution.length != size)) {
+                throw new IllegalArgumentException("La entrada " + (i + 1) + " no es de " + size + "x" + size);
+            }
+            if (solution == null) {
+                solution = solve(puzzle, model);
+                if (solution == null) throw new IllegalArgumentException("La entrada " + (i + 1) + " no tiene solución");
+            } else if (!matches(puzzle, solution, model)) {
+                throw new IllegalArgumentException("La solución de la entrada " + (i + 1) + " no corresponde al tablero");
+            }
+            complete[i] = new int[][][]{puzzle, solution};
+        });
+        return complete;
+    }
+
+    /** La solución debe cumplir las reglas y respetar todas las pistas. */
+    private static boolean matches(int[][] puzzle, int[][] solution, ConstraintModel model) {
+        if (!model.isSolved(solution)) return false;
+        for (int r = 0; r < puzzle.length; r++) {
+            for (int c = 0; c < puzzle.length; c++) {
+                if (puzzle[r][c] != 0 && puzzle[r][c] != solution[r][c]) return false;
+            }
+        }
+        return true;
+    }
+
+    /** Fuente de tableros: devuelve {tablero, solución} para un índice. */
+    private interface PuzzleSource {
+        int[][][] get(int index);
+    }
+
+    private int exportPages(int count, Path outDir, PuzzleSource source) throws IOException {
+        Files.createDirectories(outDir);
+        int perPage = renderer.perPage();
+        int pages = (count + perPage - 1) / perPage;
+
+        try {
+            IntStream.range(0, pages).parallel().forEach(page -> {
+                int first = page * perPage;
+                int n = Math.min(perPage, count - first);
+                int[][][] puzzles = new int[n][][];
+                int[][][] solutions = new int[n][][];
+                for (int i = 0; i < n; i++) {
+                    int[][][] entry = source.get(first + i);
+                    puzzles[i] = entry[0];
+                    solutions[i] = entry[1];
+                }
+                String name = String.format("%04d.png", page + 1);
+                write(renderer.renderPage(puzzles, null, first + 1, "Sudoku Express — página " + (page + 1)),
+                        outDir.resolve("tableros-" + name));
+                write(renderer.renderPage(puzzles, solutions, first + 1, "Soluciones — página " + (page + 1)),
+                        outDir.resolve("soluciones-" + name));
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return pages;
+    }
+
+    /** Resuelve una copia del tablero; null si no tiene solución (p. ej. pistas que se contradicen). */
+    private int[][] solve(int[][] puzzle, ConstraintModel model) {
+        int size = puzzle.length;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (puzzle[r][c] != 0 && !model.canPlace(puzzle, r, c, puzzle[r][c])) return null;
+            }
+        }
+        int[][] grid = new int[size][];
+        for (int r = 0; r < size; r++) grid[r] = puzzle[r].clone();
+        return generators.get().solve(grid, model) ? grid : null;
+    }
+
+    private void write(BufferedImage image, Path file) {
+        try {
+            pngWriters.get().write(image, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lee un archivo de tableros; cada entrada es {tablero, solución o null}.
+     *
+     * @throws IllegalArgumentException con el número de línea si hay caracteres inválidos,
+     *                                  dígitos fuera de rango o tableros de distinto tamaño
+     */
+    public static List<int[][][]> readPuzzleFile(Path file) throws IOException {
+        List<int[][][]> entries = new ArrayList<>();
+        int lineNumber = 0;
+        int expectedLength = -1;
+        for (String line : Files.readAllLines(file)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+");
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": se esperaban tablero y, opcionalmente, solución");
+            }
+            if (expectedLength < 0) expectedLength = parts[0].length();
+            for (String part : parts) {
+                if (part.length() != expectedLength) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + ": el tablero no es del mismo tamaño que el primero");
+                }
+            }
+            int[][] puzzle = parseGrid(parts[0], lineNumber);
+            int[][] solution = parts.length > 1 ? parseGrid(parts[1], lineNumber) : null;
+            entries.add(new int[][][]{puzzle, solution});
+        }
+        return entries;
+    }
+
+    private static int[][] parseGrid(String text, int lineNumber) {
+        int size = (int) Math.round(Math.sqrt(text.length()));
+        if (size * size != text.length() || size > 9) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": tablero con longitud inválida: " + text);
+        }
+        int[][] grid = new int[size][size];
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            int value = ch == '.' ? 0 : Character.digit(ch, 10);
+            if (value < 0) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": carácter inválido '" + ch + "'");
+            }
+            if (value > size) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": el dígito " + value + " no cabe en un tablero de " + size + "x" + size);
+            }
+            grid[i / size][i % size] = value;
+        }
+        return grid;
+    }
+
+    /** Bloques más cuadrados posibles para un tamaño (6 → 2x3, 9 → 3x3). */
+    static RuleSet geometryFor(int size) {
+        int blockRows = (int) Math.sqrt(size);
+        while (size % blockRows != 0) blockRows--;
+        return RuleSet.standard(size, blockRows, size / blockRows);
+    }
+}
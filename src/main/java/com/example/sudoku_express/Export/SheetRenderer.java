@@ -0,0 +1,142 @@
+package com.example.sudoku_express.Export;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Dibuja hojas imprimibles (A4 a 150 ppp, escala de grises) con varios tableros por página,
+ * usando solo Java2D: no necesita JavaFX ni pantalla.
+ *
+ * Los dígitos se rasterizan una sola vez por estilo y tamaño (caché de glifos) y luego
+ * se copian con drawImage. Cada hilo reutiliza su propio búfer de página.
+ * Una misma instancia puede usarse desde varios hilos a la vez.
+ */
+public class SheetRenderer {
+
+    public static final int PAGE_WIDTH = 1240;
+    public static final int PAGE_HEIGHT = 1754;
+
+    private static final int COLUMNS = 3;
+    private static final int ROWS = 4;
+    private static final int MARGIN = 60;
+    private static final int GAP = 40;
+    private static final int TITLE_HEIGHT = 40;
+    private static final int LABEL_HEIGHT = 24;
+
+    private final int size;
+    private final int blockRows;
+    private final int blockCols;
+    private final int cellSize;
+    private final BufferedImage[] givenGlyphs;     // pistas: negro
+    private final BufferedImage[] solutionGlyphs;  // celdas resueltas: gris
+    private final Font titleFont = new Font(Font.SANS_SERIF, Font.BOLD, 26);
+    private final Font labelFont = new Font(Font.SANS_SERIF, Font.PLAIN, 18);
+    private final ThreadLocal<BufferedImage> pageBuffer =
+            ThreadLocal.withInitial(() -> new BufferedImage(PAGE_WIDTH, PAGE_HEIGHT, BufferedImage.TYPE_BYTE_GRAY));
+
+    public SheetRenderer(int size, int blockRows, int blockCols) {
+        this.size = size;
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+
+        int slotWidth = (PAGE_WIDTH - 2 * MARGIN - (COLUMNS - 1) * GAP) / COLUMNS;
+        int slotHeight = (PAGE_HEIGHT - 2 * MARGIN - TITLE_HEIGHT - (ROWS - 1) * GAP) / ROWS - LABEL_HEIGHT;
+        this.cellSize = Math.min(slotWidth, slotHeight) / size;
+
+        this.givenGlyphs = buildGlyphs(Color.BLACK, Font.BOLD);
+        this.solutionGlyphs = buildGlyphs(new Color(110, 110, 110), Font.PLAIN);
+    }
+
+    /** Tableros por página. */
+    public int perPage() {
+        return COLUMNS * ROWS;
+    }
+
+    /** Rasteriza los dígitos 1..size una sola vez, sobre fondo blanco y centrados en la celda. */
+    private BufferedImage[] buildGlyphs(Color color, int style) {
+        BufferedImage[] glyphs = new BufferedImage[size + 1];
+        int glyphSize = cellSize - 4;
+        Font font = new Font(Font.SANS_SERIF, style, (int) (cellSize * 0.6));
+        for (int d = 1; d <= size; d++) {
+            BufferedImage img = new BufferedImage(glyphSize, glyphSize, BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D g = img.createGraphics();
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, glyphSize, glyphSize);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(font);
+            g.setColor(color);
+            FontMetrics fm = g.getFontMetrics();
+            String text = Integer.toString(d);
+            int x = (glyphSize - fm.stringWidth(text)) / 2;
+            int y = (glyphSize - fm.getHeight()) / 2 + fm.getAscent();
+            g.drawString(text, x, y);
+            g.dispose();
+            glyphs[d] = img;
+        }
+        return glyphs;
+    }
+
+    /**
+     * Dibuja una página en el búfer del hilo actual y lo devuelve (se reutiliza en la próxima llamada).
+     *
+     * @param puzzles tableros visibles (0 = vacía)
+     * @param solutions soluciones para una hoja de respuestas, o null para una hoja de juego
+     * @param firstNumber número del primer tablero de la página
+     */
+    public BufferedImage renderPage(int[][][] puzzles, int[][][] solutions, int firstNumber, String title) {
+        BufferedImage page = pageBuffer.get();
+        Graphics2D g = page.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            g.setColor(Color.BLACK);
+            g.setFont(titleFont);
+            g.drawString(title, MARGIN, MARGIN + 26);
+
+            int gridSize = cellSize * size;
+            int slotWidth = (PAGE_WIDTH - 2 * MARGIN - (COLUMNS - 1) * GAP) / COLUMNS;
+            int slotHeight = (PAGE_HEIGHT - 2 * MARGIN - TITLE_HEIGHT - (ROWS - 1) * GAP) / ROWS;
+            for (int i = 0; i < puzzles.length; i++) {
+                int x = MARGIN + (i % COLUMNS) * (slotWidth + GAP) + (slotWidth - gridSize) / 2;
+                int y = MARGIN + TITLE_HEIGHT + (i / COLUMNS) * (slotHeight + GAP);
+
+                g.setFont(labelFont);
+                g.setColor(Color.BLACK);
+                g.drawString("#" + (firstNumber + i), x, y + 18);
+                drawGrid(g, x, y + LABEL_HEIGHT, puzzles[i], solutions == null ? null : solutions[i]);
+            }
+        } finally {
+            g.dispose();
+        }
+        return page;
+    }
+
+    private void drawGrid(Graphics2D g, int x, int y, int[][] puzzle, int[][] solution) {
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                BufferedImage glyph = null;
+                if (puzzle[r][c] != 0) glyph = givenGlyphs[puzzle[r][c]];
+                else if (solution != null && solution[r][c] != 0) glyph = solutionGlyphs[solution[r][c]];
+                if (glyph != null) g.drawImage(glyph, x + c * cellSize + 2, y + r * cellSize + 2, null);
+            }
+        }
+
+        int gridSize = cellSize * size;
+        g.setColor(Color.BLACK);
+        g.setStroke(new BasicStroke(1));
+        for (int i = 0; i <= size; i++) {
+            g.drawLine(x, y + i * cellSize, x + gridSize, y + i * cellSize);
+            g.drawLine(x + i * cellSize, y, x + i * cellSize, y + gridSize);
+        }
+        g.setStroke(new BasicStroke(3));
+        for (int r = 0; r <= size; r += blockRows) g.drawLine(x, y + r * cellSize, x + gridSize, y + r * cellSize);
+        for (int c = 0; c <= size; c += blockCols) g.drawLine(x + c * cellSize, y, x + c * cellSize, y + gridSize);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.sudoku_express;
 
+import com.example.sudoku_express.Controllers.SudokuController;
+import com.example.sudoku_express.Models.Board;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -17,6 +19,12 @@ public class HelloApplication extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        SudokuController.abandonActiveGame(); // cerrar la ventana a mitad de partida cuenta como derrota
+        Board.shutdown();
+    }
+
     public static void main(String[] args) {
         launch();
     }
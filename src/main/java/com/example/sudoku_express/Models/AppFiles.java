@@ -0,0 +1,24 @@
+package com.example.sudoku_express.Models;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Ubicación de los archivos que la aplicación guarda entre partidas
+ * (carpeta ~/.sudoku_express del usuario).
+ */
+public class AppFiles {
+
+    private static final Path DATA_DIR = Paths.get(System.getProperty("user.home"), ".sudoku_express");
+
+    private AppFiles() {
+    }
+
+    /** Devuelve la ruta de un archivo de datos, creando la carpeta si no existe. */
+    public static Path dataFile(String name) throws IOException {
+        Files.createDirectories(DATA_DIR);
+        return DATA_DIR.resolve(name);
+    }
+}
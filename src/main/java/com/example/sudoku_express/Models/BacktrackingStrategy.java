@@ -0,0 +1,21 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Estrategia clásica: solución completa por backtracking aleatorio y luego
+ * 2 pistas por región. Sirve para cualquier variante; la dificultad la estima {@link DifficultyRater}.
+ */
+public class BacktrackingStrategy implements GenerationStrategy {
+
+    private final PuzzleGenerator generator;
+
+    public BacktrackingStrategy(PuzzleGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public GeneratedPuzzle generate(ConstraintModel model) {
+        int[][] solution = generator.generateFullSolution(model);
+        int[][] puzzle = generator.generatePuzzleFromSolution(solution, model);
+        return new GeneratedPuzzle(puzzle, solution, DifficultyRater.rate(model, puzzle));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Valida muchos tableros completos a la vez (misma regla que la victoria del juego:
+ * todo lleno y sin repetidos en ninguna casa).
+ *
+ * Para cada casa se hace el OR de {@code 1 << valor} de sus celdas; el tablero es válido
+ * solo si en todas las casas el resultado es exactamente la máscara completa.
+ * Con el módulo jdk.incubator.vector disponible (--add-modules jdk.incubator.vector)
+ * ese cálculo se hace con la Vector API sobre varios tableros por instrucción; si no,
+ * se usa el mismo recorrido escalar sobre el lote.
+ *
+ * Las variantes con jaulas o paridad no caben en el truco de la máscara y se validan
+ * tablero por tablero con {@link ConstraintModel#isSolved(int[][])}.
+ */
+public class BatchValidator {
+
+    private static final boolean VECTOR_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final ConstraintModel model;
+    private final int[][] houses;
+    private final boolean maskOnly;
+    private final boolean useVector;
+
+    public BatchValidator(ConstraintModel model) {
+        this(model, VECTOR_AVAILABLE);
+    }
+
+    /** Permite forzar el camino escalar (p. ej. para comparar rendimiento). */
+    public BatchValidator(ConstraintModel model, boolean preferVector) {
+        this.model = model;
+        this.maskOnly = model.getRules().getCages().isEmpty() && !hasParity(model);
+        this.houses = new int[model.houseCount()][];
+        for (int h = 0; h < houses.length; h++) houses[h] = model.house(h);
+        this.useVector = preferVector && VECTOR_AVAILABLE && maskOnly;
+    }
+
+    /** Indica si la Vector API está disponible en esta ejecución. */
+    public static boolean isVectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    public boolean usesVector() {
+        return useVector;
+    }
+
+    /**
+     * Valida los tableros del lote.
+     * @param valid salida: valid[i] indica si el tablero i es una solución correcta
+     * @return cuántos tableros son válidos
+     */
+    public int validate(BoardBatch batch, boolean[] valid) {
+        if (batch.getSize() != model.getSize()) throw new IllegalArgumentException("Tamaño de tablero distinto");
+        int count = batch.getCount();
+        if (!maskOnly) return validateOneByOne(batch, valid);
+
+        if (useVector) {
+            VectorBatchKernel.validate(batch.cells(), batch.getCapacity(), count, houses, model.fullMask(), valid);
+        } else {
+            validateScalar(batch.cells(), batch.getCapacity(), 0, count, houses, model.fullMask(), valid);
+        }
+        int ok = 0;
+        for (int b = 0; b < count; b++) if (valid[b]) ok++;
+        return ok;
+    }
+
+    /**
+     * Núcleo escalar: para cada casa recorre los tableros [from, to) de forma contigua.
+     */
+    static void validateScalar(int[] cells, int capacity, int from, int to, int[][] houses, int fullMask, boolean[] valid) {
+        int n = to - from;
+        int[] acc = new int[n];
+        for (int b = from; b < to; b++) valid[b] = true;
+        for (int[] house : houses) {
+            java.util.Arrays.fill(acc, 0);
+            for (int cell : house) {
+                int base = cell * capacity + from;
+                for (int i = 0; i < n; i++) acc[i] |= 1 << cells[base + i];
+            }
+            for (int i = 0; i < n; i++) {
+                if (acc[i] != fullMask) valid[from + i] = false;
+            }
+        }
+    }
+
+    private int validateOneByOne(BoardBatch batch, boolean[] valid) {
+        int size = model.getSize();
+        int[][] grid = new int[size][size];
+        int ok = 0;
+        for (int b = 0; b < batch.getCount(); b++) {
+            for (int cell = 0; cell < size * size; cell++) grid[cell / size][cell % size] = batch.get(b, cell);
+            valid[b] = model.isSolved(grid);
+            if (valid[b]) ok++;
+        }
+        return ok;
+    }
+
+    private static boolean hasParity(ConstraintModel model) {
+        for (int cell = 0; cell < model.cellCount(); cell++) {
+            if (model.allowedMask(cell) != model.fullMask()) return true;
+        }
+        return false;
+    }
+}
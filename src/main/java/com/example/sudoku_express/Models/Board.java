@@ -1,5 +1,9 @@
 package com.example.sudoku_express.Models;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Clase Board (tablero principal del Sudoku 6x6).
  * Gestiona el tablero visible, las celdas fijas y su solución completa.
@@ -8,11 +12,37 @@ public class Board {
 
     private static Board instance; // 🔹 instancia única
 
+    private static final int SIZE = 6;
+    private static final int BLOCK_ROWS = 2;
+    private static final int BLOCK_COLS = 3;
+
+    // Tableros ya servidos: se guarda su forma canónica en filtros de Bloom persistentes que
+    // rotan al llenarse. 100 000 tableros por generación (~180 KB cada filtro, dos a la vez);
+    // se puede cambiar con -Dsudoku.servedPuzzles=N
+    private static final String SERVED_FILE = "served-puzzles.bloom";
+    private static final long SERVED_EXPECTED = Long.getLong("sudoku.servedPuzzles", 100_000L);
+    private static final double SERVED_FALSE_POSITIVES = 0.001;
+    private static final int MAX_REPEAT_ATTEMPTS = 50;
+
     private final PuzzleGenerator puzzleGenerator = new PuzzleGenerator();
+    private final GenerationStrategy fallbackStrategy = new BacktrackingStrategy(puzzleGenerator);
+    private GenerationStrategy strategy = initialStrategy();
+    private ConstraintModel model = ConstraintModel.compile(RuleSet.standard(SIZE, BLOCK_ROWS, BLOCK_COLS));
+    private final Canonicalizer canonicalizer = new Canonicalizer(SIZE, BLOCK_ROWS, BLOCK_COLS);
+    private RotatingPuzzleFilter servedPuzzles; // se abre al generar el primer tablero
+    private boolean servedPuzzlesOpened;
 
     private int[][] board;       // tablero visible (con ceros para celdas ocultas)
     private boolean[][] fixed;   // celdas fijas (visibles desde el inicio)
     private int[][] solution;    // solución completa (solo el modelo la conoce)
+    private Difficulty difficulty;   // la estima la estrategia al generar cada tablero
+
+    // Notas (marcas de lápiz): bit d encendido = el dígito d es candidato
+    private int[][] houseCounts; // cuántas veces aparece cada dígito en cada casa
+    private int[] candidates;    // candidatos automáticos por celda
+    private int[] notes;         // notas manuales del jugador por celda
+
+    private final List<CellChangeListener> listeners = new ArrayList<>();
 
     /** Constructor privado: genera el tablero inicial. */
     private Board() {
@@ -27,13 +57,30 @@ public class Board {
 
     /** Genera un nuevo tablero válido y guarda la solución completa. */
     private void generateNewBoard() {
-        int rows = 6, cols = 6, blockRows = 2, blockCols = 3;
+        int rows = SIZE, cols = SIZE;
 
-        // 🔹 Paso 1: Generar una solución válida completa
-        solution = puzzleGenerator.generateFullSolution(rows, cols, blockRows, blockCols);
-
-        // 🔹 Paso 2: Generar el tablero visible (ocultando celdas)
-        board = puzzleGenerator.generatePuzzleFromSolution(solution, rows, cols, blockRows, blockCols);
+        // 🔹 Pasos 1 y 2: Generar solución y tablero visible hasta dar con uno no servido antes.
+        // Otra estrategia (p. ej. derivar semillas) tiene un solo intento: si su tablero ya se
+        // sirvió (en cualquier reetiquetado o permutación) o no admite estas reglas, backtracking.
+        GeneratedPuzzle generated = null;
+        byte[] key = null;
+        if (strategy != fallbackStrategy && strategy.supports(model)) {
+            generated = strategy.generate(model);
+            key = puzzleKey(generated.puzzle);
+            if (servedPuzzles() != null && servedPuzzles.mightContain(key)) generated = null;
+        }
+        for (int attempt = 0; generated == null && attempt < MAX_REPEAT_ATTEMPTS; attempt++) {
+            GeneratedPuzzle candidate = fallbackStrategy.generate(model);
+            key = puzzleKey(candidate.puzzle);
+            // Si todos se repiten se acepta el último antes que no dar tablero
+            if (servedPuzzles() == null || !servedPuzzles.mightContain(key) || attempt == MAX_REPEAT_ATTEMPTS - 1) {
+                generated = candidate;
+            }
+        }
+        if (servedPuzzles != null) recordServed(key);
+        solution = generated.solution;
+        board = generated.puzzle;
+        difficulty = generated.difficulty;
 
         // 🔹 Paso 3: Marcar las celdas fijas (no editables)
         fixed = new boolean[rows][cols];
@@ -42,6 +89,122 @@ public class Board {
                 fixed[r][c] = board[r][c] != 0;
             }
         }
+
+        // 🔹 Paso 4: Calcular los candidatos iniciales (única vez que se recorre todo el tablero)
+        rebuildCandidates();
+    }
+
+    /**
+     * Clave del tablero para el filtro de repetidos.
+     * En el Sudoku clásico es la forma canónica (cubre copias reetiquetadas o permutadas);
+     * las variantes no son invariantes a esas permutaciones y usan el tablero tal cual.
+     */
+    private byte[] puzzleKey(int[][] puzzle) {
+        if (model.getRules().equals(RuleSet.standard(SIZE, BLOCK_ROWS, BLOCK_COLS))) {
+            return canonicalizer.canonicalForm(puzzle);
+        }
+        byte[] raw = new byte[SIZE * SIZE + 4];
+        int hash = model.getRules().hashCode();
+        for (int i = 0; i < 4; i++) raw[i] = (byte) (hash >>> (8 * i));
+        for (int cell = 0; cell < SIZE * SIZE; cell++) raw[cell + 4] = (byte) puzzle[cell / SIZE][cell % SIZE];
+        return raw;
+    }
+
+    /**
+     * Backtracking por defecto. Con -Dsudoku.seedDerivation=true se derivan primero las semillas
+     * incluidas ({@link PuzzleDeriver}); cada semilla se sirve como mucho una vez.
+     */
+    private GenerationStrategy initialStrategy() {
+        if (!Boolean.getBoolean("sudoku.seedDerivation")) return fallbackStrategy;
+        try {
+            return PuzzleDeriver.loadDefault();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            System.err.println("❌ No se pudieron cargar las semillas, se usará backtracking: " + e.getMessage());
+            return fallbackStrategy;
+        }
+    }
+
+    /** Filtro de tableros servidos, abierto la primera vez; null si el disco falla (el juego sigue sin él). */
+    private RotatingPuzzleFilter servedPuzzles() {
+        if (!servedPuzzlesOpened) {
+            servedPuzzlesOpened = true;
+            try {
+                servedPuzzles = RotatingPuzzleFilter.open(AppFiles.dataFile(SERVED_FILE), SERVED_EXPECTED, SERVED_FALSE_POSITIVES);
+            } catch (IOException e) {
+                System.err.println("❌ No se pudo abrir el registro de tableros servidos: " + e.getMessage());
+            }
+        }
+        return servedPuzzles;
+    }
+
+    /** Anota el tablero como servido y lo guarda en disco (rotando el filtro si se llenó). */
+    private void recordServed(byte[] key) {
+        try {
+            if (servedPuzzles.put(key)) servedPuzzles.flush();
+        } catch (IOException e) {
+            System.err.println("❌ No se pudo guardar el registro de tableros servidos: " + e.getMessage());
+        }
+    }
+
+    /** Guarda y cierra los archivos del tablero; llamar al salir de la aplicación. */
+    public static void shutdown() {
+        if (instance == null || instance.servedPuzzles == null) return;
+        try {
+            instance.servedPuzzles.close();
+        } catch (IOException e) {
+            System.err.println("❌ No se pudo cerrar el registro de tableros servidos: " + e.getMessage());
+        }
+    }
+
+    /** Recalcula conteos por casa y candidatos de todas las celdas. */
+    private void rebuildCandidates() {
+        int cells = SIZE * SIZE;
+        houseCounts = new int[model.houseCount()][SIZE + 1];
+        candidates = new int[cells];
+        notes = new int[cells];
+
+        for (int cell = 0; cell < cells; cell++) {
+            int value = board[cell / SIZE][cell % SIZE];
+            if (value != 0) {
+                for (int h : model.housesOf(cell)) houseCounts[h][value]++;
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            int mask = 0;
+            for (int d = 1; d <= SIZE; d++) {
+                if (canHold(cell, d)) mask |= 1 << d;
+            }
+            candidates[cell] = mask;
+        }
+    }
+
+    /** Indica si la celda admite el dígito y este no aparece en ninguna de sus casas. */
+    private boolean canHold(int cell, int digit) {
+        if ((model.allowedMask(cell) & (1 << digit)) == 0) return false;
+        for (int h : model.housesOf(cell)) {
+            if (houseCounts[h][digit] != 0) return false;
+        }
+        return true;
+    }
+
+    /** Registra un dígito colocado: solo se tocan los bits de los vecinos. */
+    private void placeDigit(int cell, int digit) {
+        for (int h : model.housesOf(cell)) houseCounts[h][digit]++;
+        int clear = ~(1 << digit);
+        for (int p : model.peersOf(cell)) {
+            candidates[p] &= clear;
+            notes[p] &= clear;
+        }
+    }
+
+    /** Registra un dígito borrado: el bit vuelve solo donde ninguna casa lo contiene. */
+    private void removeDigit(int cell, int digit) {
+        for (int h : model.housesOf(cell)) houseCounts[h][digit]--;
+        int bit = 1 << digit;
+        if (canHold(cell, digit)) candidates[cell] |= bit;
+        for (int p : model.peersOf(cell)) {
+            if (canHold(p, digit)) candidates[p] |= bit;
+        }
     }
 
     /** Devuelve si una celda es fija (no editable). */
@@ -54,11 +217,100 @@ public class Board {
         return board[x][y];
     }
 
-    /** Cambia el valor visible de una celda editable. */
+    /** Cambia el valor visible de una celda editable por una jugada del jugador (avisa a los observadores). */
     public void cellMod(int x, int y, int value) {
+        if (setValue(x, y, value)) {
+            for (CellChangeListener listener : listeners) listener.onCellChanged(x, y, value);
+        }
+    }
+
+    /**
+     * Cambia una celda desde el solver paso a paso: actualiza candidatos y notas igual que
+     * cellMod, pero no avisa a los observadores (no es una jugada, p. ej. en una carrera).
+     */
+    public void cellModBySolver(int x, int y, int value) {
+        setValue(x, y, value);
+    }
+
+    /** Devuelve true si la celda cambió. */
+    private boolean setValue(int x, int y, int value) {
+        if (fixed[x][y]) return false;
+
+        int old = board[x][y];
+        if (old == value) return false;
+
+        board[x][y] = value;
+        int cell = x * SIZE + y;
+        if (old != 0) removeDigit(cell, old);
+        if (value != 0) placeDigit(cell, value);
+        return true;
+    }
+
+    /** Registra un observador de las jugadas hechas con cellMod (no las del solver). */
+    public void addCellListener(CellChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeCellListener(CellChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Devuelve el tablero visible empaquetado (solo las pistas fijas, sin lo que escribió el jugador). */
+    public byte[] packPuzzle() {
+        int[][] givens = new int[SIZE][SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (fixed[r][c]) givens[r][c] = board[r][c];
+            }
+        }
+        return PuzzlePacker.pack(givens);
+    }
+
+    /** Devuelve la máscara de candidatos automáticos de una celda (bit d = dígito d). */
+    public int getCandidates(int x, int y) {
+        return candidates[x * SIZE + y];
+    }
+
+    /** Devuelve la máscara de notas manuales de una celda (bit d = dígito d). */
+    public int getNotes(int x, int y) {
+        return notes[x * SIZE + y];
+    }
+
+    /** Activa o desactiva una nota manual en una celda editable. */
+    public void toggleNote(int x, int y, int digit) {
         if (!fixed[x][y]) {
-            board[x][y] = value;
+            notes[x * SIZE + y] ^= 1 << digit;
+        }
+    }
+
+    /** Devuelve el modelo de reglas compilado del tablero. */
+    public ConstraintModel getModel() {
+        return model;
+    }
+
+    /**
+     * Cambia la variante (Sudoku X, Jigsaw, par/impar, Killer) y genera un tablero nuevo.
+     * La vista actual es de 6x6, así que las reglas deben conservar ese tamaño.
+     */
+    public void setRules(RuleSet rules) {
+        if (rules.getSize() != SIZE) {
+            throw new IllegalArgumentException("El tablero es de " + SIZE + "x" + SIZE);
         }
+        model = ConstraintModel.compile(rules);
+        generateNewBoard();
+    }
+
+    /**
+     * Cambia cómo se generan los tableros (backtracking o derivación de semillas con
+     * {@link PuzzleDeriver}). Se aplica desde el próximo tablero; los tableros que ya se
+     * sirvieron se siguen rechazando y se reemplazan por uno de backtracking.
+     */
+    public void setGenerationStrategy(GenerationStrategy strategy) {
+        this.strategy = strategy == null ? fallbackStrategy : strategy;
+    }
+
+    public GenerationStrategy getGenerationStrategy() {
+        return strategy;
     }
 
     /** Regenera el tablero y la solución. */
@@ -81,6 +333,11 @@ public class Board {
         return solution;
     }
 
+    /** Devuelve la dificultad del tablero actual. */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
     /** Comprueba si el valor ingresado por el usuario es correcto. */
     public boolean isCorrectValue(int row, int col, int value) {
         return solution != null && solution[row][col] == value;
@@ -0,0 +1,62 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Lote de tableros en formato "estructura de arreglos": un solo int[] donde la celda i
+ * de todos los tableros está contigua (cells[i * capacity + tablero]).
+ * Así un validador recorre la misma celda de muchos tableros a la vez.
+ */
+public class BoardBatch {
+
+    private final int size;
+    private final int capacity;
+    private final int[] cells;
+    private int count;
+
+    public BoardBatch(int size, int capacity) {
+        this.size = size;
+        this.capacity = capacity;
+        this.cells = new int[size * size * capacity];
+    }
+
+    /** Añade un tablero al final del lote y devuelve su posición. */
+    public int add(int[][] grid) {
+        if (count == capacity) throw new IllegalStateException("El lote está lleno");
+        int board = count++;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) set(board, r * size + c, grid[r][c]);
+        }
+        return board;
+    }
+
+    /** Cambia una celda de un tablero del lote (0 = vacía). */
+    public void set(int board, int cell, int value) {
+        if (value < 0 || value > size) throw new IllegalArgumentException("Valor fuera de rango: " + value);
+        cells[cell * capacity + board] = value;
+    }
+
+    public int get(int board, int cell) {
+        return cells[cell * capacity + board];
+    }
+
+    /** Vacía el lote sin liberar memoria. */
+    public void clear() {
+        count = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /** Arreglo interno (solo para los núcleos de validación). */
+    int[] cells() {
+        return cells;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.sudoku_express.Models;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Partida liviana de un tablero del torneo, sin vista propia ni singleton.
+ * La juega un solo hilo (un jugador o un bot) y la vista la lee desde el hilo de JavaFX.
+ *
+ * Cada cambio marca la partida como sucia y, si no lo estaba, la encola una sola vez en la cola
+ * compartida; la vista la saca, llama a {@link #takeDirty()} y recién entonces lee las celdas.
+ * Los dos lados usan getAndSet sobre la misma bandera, así que lo escrito antes de marcar
+ * siempre es visible para la lectura que sigue. Un cuadro puede mostrar un estado intermedio
+ * (p. ej. a mitad de un tablero nuevo), pero ese cambio vuelve a encolar la partida y el
+ * cuadro siguiente lo corrige.
+ */
+public class BoardSession {
+
+    private final int id;
+    private final String name;
+    private final int size;
+    private final int blockRows;
+    private final int blockCols;
+    private final Queue<BoardSession> dirtyQueue;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private final int[] values;      // valor visible por celda (fila * size + columna)
+    private final int[] solution;
+    private final boolean[] fixed;
+
+    private volatile int filled;     // celdas con el valor correcto (incluye las fijas)
+    private volatile int errors;
+    private volatile int wins;
+
+    public BoardSession(int id, String name, RuleSet rules, Queue<BoardSession> dirtyQueue) {
+        this.id = id;
+        this.name = name;
+        this.size = rules.getSize();
+        this.blockRows = rules.getBlockRows();
+        this.blockCols = rules.getBlockCols();
+        this.dirtyQueue = dirtyQueue;
+        this.values = new int[size * size];
+        this.solution = new int[size * size];
+        this.fixed = new boolean[size * size];
+    }
+
+    // ==========================================================
+    //  LADO DEL JUGADOR (un solo hilo)
+    // ==========================================================
+
+    /** Empieza un tablero nuevo. */
+    public void start(GeneratedPuzzle puzzle) {
+        int correct = 0;
+        for (int cell = 0; cell < values.length; cell++) {
+            int r = cell / size, c = cell % size;
+            values[cell] = puzzle.puzzle[r][c];
+            solution[cell] = puzzle.solution[r][c];
+            fixed[cell] = values[cell] != 0;
+            if (fixed[cell]) correct++;
+        }
+        filled = correct;
+        markDirty();
+    }
+
+    /** Escribe (o borra con 0) una celda editable. Un valor distinto de la solución cuenta como error. */
+    public void set(int cell, int value) {
+        if (fixed[cell] || values[cell] == value) return;
+        int correct = filled;
+        if (values[cell] == solution[cell]) correct--;
+        values[cell] = value;
+        if (value == solution[cell]) correct++;
+        else if (value != 0) errors++;
+        filled = correct;
+        markDirty();
+    }
+
+    /** Suma una victoria (el tablero quedó completo y correcto). */
+    public void recordWin() {
+        wins++;
+        markDirty();
+    }
+
+    public boolean isSolved() {
+        return filled == values.length;
+    }
+
+    public int getSolutionValue(int cell) {
+        return solution[cell];
+    }
+
+    private void markDirty() {
+        if (!dirty.getAndSet(true)) dirtyQueue.offer(this);
+    }
+
+    // ==========================================================
+    //  LADO DE LA VISTA
+    // ==========================================================
+
+    /** Limpia la marca de cambios; llamarlo antes de leer las celdas. */
+    public boolean takeDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    public int getValue(int cell) {
+        return values[cell];
+    }
+
+    public boolean isFixed(int cell) {
+        return fixed[cell];
+    }
+
+    /** Indica si la celda tiene un valor que no es el de la solución. */
+    public boolean isWrong(int cell) {
+        int value = values[cell];
+        return value != 0 && value != solution[cell];
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    public int getBlockCols() {
+        return blockCols;
+    }
+
+    public int getFilled() {
+        return filled;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+}
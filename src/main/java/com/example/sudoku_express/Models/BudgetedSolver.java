@@ -0,0 +1,505 @@
+package com.example.sudoku_express.Models;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solver para tableros grandes (16x16, 25x25) que nunca corre sin control.
+ *
+ * La búsqueda usa una pila explícita y propagación de restricciones: cada celda guarda su máscara
+ * de candidatos y al colocar un dígito se quita de los vecinos, se colocan los singles desnudos
+ * y se buscan singles ocultos en cada casa completa. Los cambios van a un rastro (trail), así que
+ * retroceder solo deshace lo que cambió. Se ramifica siempre en la celda con menos candidatos.
+ *
+ * {@link #run(long, long)} trabaja hasta agotar un presupuesto de nodos o de tiempo y deja el
+ * estado listo para seguir; {@link #checkpoint()} lo guarda como un {@link Checkpoint} serializable
+ * que otro solver (en este u otro proceso) retoma. {@link #split()} cede el subárbol pendiente
+ * más grande, y {@link #solveParallel} lo usa para repartir la búsqueda entre varios hilos.
+ *
+ * Las jaulas Killer solo se comprueban como casas sin repetidos durante la búsqueda; la suma se
+ * verifica con {@link ConstraintModel#isSolved} al completar el tablero.
+ */
+public class BudgetedSolver {
+
+    public enum Status { SOLVED, UNSOLVABLE, BUDGET_EXHAUSTED, CANCELLED }
+
+    private static final int ASSIGNED = 1 << 31; // marca en el rastro: la entrada también fijó el valor
+    private static final int TIME_CHECK_INTERVAL = 64; // vueltas entre lecturas del reloj
+
+    private final ConstraintModel model;
+    private final int size;
+    private final int cellCount;
+    private final int fullMask;
+    private final int[] base;       // tablero inicial (no cambia)
+    private final int[] values;     // valor de cada celda (0 = vacía)
+    private final int[] cand;       // candidatos de cada celda (bit d = dígito d)
+    private final int[] queue;      // celdas recién asignadas pendientes de propagar
+    private int queueSize;
+
+    private int[] trailCell = new int[1024];
+    private int[] trailMask = new int[1024];
+    private int trailSize;
+
+    // Pila de búsqueda: celda, dígito actual, dígitos sin probar y tamaño del rastro antes de probar
+    private final int[] frameCell;
+    private final int[] frameDigit;
+    private final int[] frameRemaining;
+    private final int[] frameTrail;
+    private int depth;
+
+    private Status finished;        // SOLVED o UNSOLVABLE cuando ya no queda nada por hacer
+    private long nodes;
+    private AtomicBoolean cancel = new AtomicBoolean();
+
+    public BudgetedSolver(ConstraintModel model, int[][] start) {
+        this(model, Checkpoint.of(model, start));
+    }
+
+    /**
+     * Retoma la búsqueda desde un checkpoint: coloca el tablero inicial y vuelve a aplicar
+     * el dígito actual de cada nivel de la pila (la propagación es determinista).
+     *
+     * @throws IllegalArgumentException si el checkpoint es de otras reglas
+     */
+    public BudgetedSolver(ConstraintModel model, Checkpoint checkpoint) {
+        if (!checkpoint.rules.equals(model.getRules())) {
+            throw new IllegalArgumentException("El checkpoint es de otras reglas");
+        }
+        this.model = model;
+        this.size = model.getSize();
+        this.cellCount = model.cellCount();
+        this.fullMask = model.fullMask();
+        this.base = checkpoint.base.clone();
+        this.values = new int[cellCount];
+        this.cand = new int[cellCount];
+        this.queue = new int[cellCount];
+        this.frameCell = new int[cellCount + 1];
+        this.frameDigit = new int[cellCount + 1];
+        this.frameRemaining = new int[cellCount + 1];
+        this.frameTrail = new int[cellCount + 1];
+
+        // 🔹 Paso 1: candidatos iniciales y pistas
+        for (int cell = 0; cell < cellCount; cell++) cand[cell] = model.allowedMask(cell);
+        boolean consistent = true;
+        for (int cell = 0; cell < cellCount && consistent; cell++) {
+            if (base[cell] != 0) consistent = assign(cell, base[cell]);
+        }
+        consistent = consistent && propagate();
+        if (!consistent) {
+            finished = Status.UNSOLVABLE;
+            return;
+        }
+
+        // 🔹 Paso 2: repetir las decisiones guardadas
+        for (int i = 0; i < checkpoint.cells.length; i++) {
+            pushFrame(checkpoint.cells[i], checkpoint.remaining[i]);
+            frameDigit[depth - 1] = checkpoint.digits[i];
+            if (!(assign(checkpoint.cells[i], checkpoint.digits[i]) && propagate())) {
+                // Un subárbol cedido puede empezar por un dígito que no lleva a nada
+                if (!advance()) finished = Status.UNSOLVABLE;
+                return;
+            }
+        }
+    }
+
+    /** Usa una bandera compartida: cuando se enciende, {@link #run} devuelve CANCELLED. */
+    public void setCancelFlag(AtomicBoolean cancel) {
+        this.cancel = cancel;
+    }
+
+    /**
+     * Busca hasta resolver, demostrar que no hay solución o agotar el presupuesto.
+     * Tras BUDGET_EXHAUSTED o CANCELLED se puede volver a llamar o pedir un checkpoint.
+     *
+     * @param maxNodes máximo de nodos a explorar en esta llamada
+     * @param maxNanos máximo de tiempo en esta llamada
+     */
+    public Status run(long maxNodes, long maxNanos) {
+        if (finished != null) return finished;
+        long startNodes = nodes;
+        long deadline = System.nanoTime() + Math.max(0, maxNanos);
+        int iterations = 0;
+
+        while (true) {
+            // Aquí el estado siempre es consistente, así que se puede cortar sin perder nada
+            if (cancel.get()) return Status.CANCELLED;
+            long spent = nodes - startNodes;
+            if (spent >= maxNodes) return Status.BUDGET_EXHAUSTED;
+            if (iterations++ % TIME_CHECK_INTERVAL == 0 && System.nanoTime() - deadline >= 0) {
+                return Status.BUDGET_EXHAUSTED;
+            }
+
+            int cell = pickCell();
+            if (cell < 0) {
+                if (model.isSolved(getSolution())) return finished = Status.SOLVED;
+                if (!advance()) return finished = Status.UNSOLVABLE;
+                continue;
+            }
+            pushFrame(cell, cand[cell]);
+            if (!advance()) return finished = Status.UNSOLVABLE;
+        }
+    }
+
+    /**
+     * Prueba el siguiente dígito del nivel más profundo; si no quedan, sube de nivel.
+     * Devuelve false cuando se vacía la pila (no hay más ramas).
+     */
+    private boolean advance() {
+        while (depth > 0) {
+            int top = depth - 1;
+            undoTo(frameTrail[top]);
+            int remaining = frameRemaining[top];
+            if (remaining == 0) {
+                depth--;
+                continue;
+            }
+            int digit = Integer.numberOfTrailingZeros(remaining);
+            frameRemaining[top] = remaining & (remaining - 1);
+            frameDigit[top] = digit;
+            nodes++;
+            if (assign(frameCell[top], digit) && propagate()) return true;
+        }
+        return false;
+    }
+
+    private void pushFrame(int cell, int remaining) {
+        frameCell[depth] = cell;
+        frameRemaining[depth] = remaining;
+        frameDigit[depth] = 0;
+        frameTrail[depth] = trailSize;
+        depth++;
+    }
+
+    /** Celda vacía con menos candidatos, o -1 si el tablero está completo. */
+    private int pickCell() {
+        int best = -1, bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] != 0) continue;
+            int count = Integer.bitCount(cand[cell]);
+            if (count < bestCount) {
+                best = cell;
+                bestCount = count;
+                if (count <= 2) break;
+            }
+        }
+        return best;
+    }
+
+    // ==========================================================
+    //  PROPAGACIÓN (con rastro para deshacer)
+    // ==========================================================
+
+    /** Fija un valor y lo encola para propagar. Devuelve false si el dígito ya no era candidato. */
+    private boolean assign(int cell, int digit) {
+        int bit = 1 << digit;
+        if ((cand[cell] & bit) == 0) return false;
+        if (values[cell] == digit) return true;
+        record(cell | ASSIGNED, cand[cell]);
+        values[cell] = digit;
+        cand[cell] = bit;
+        queue[queueSize++] = cell;
+        return true;
+    }
+
+    /** Propaga las asignaciones encoladas (singles desnudos y ocultos). Devuelve false ante una contradicción. */
+    private boolean propagate() {
+        while (true) {
+            if (!drainQueue()) break;
+            int result = hiddenSingles();
+            if (result < 0) break;
+            if (result == 0) return true;
+        }
+        queueSize = 0;
+        return false;
+    }
+
+    /** Quita de los vecinos cada dígito asignado; las celdas que quedan con un solo candidato se asignan. */
+    private boolean drainQueue() {
+        while (queueSize > 0) {
+            int cell = queue[--queueSize];
+            int bit = 1 << values[cell];
+            for (int p : model.peersOf(cell)) {
+                int mask = cand[p];
+                if ((mask & bit) == 0) continue;
+                if (values[p] != 0) return false; // el vecino ya tiene ese dígito
+                record(p, mask);
+                mask &= ~bit;
+                cand[p] = mask;
+                if (mask == 0) return false;
+                if ((mask & (mask - 1)) == 0 && !assign(p, Integer.numberOfTrailingZeros(mask))) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recorre las casas completas (filas, columnas, regiones, diagonales) y asigna los dígitos
+     * que solo caben en una celda. Devuelve 1 si asignó algo, 0 si no, o -1 si alguna casa
+     * ya no puede contener todos los dígitos.
+     */
+    private int hiddenSingles() {
+        int found = 0;
+        for (int h = 0; h < model.houseCount(); h++) {
+            int[] house = model.house(h);
+            if (house.length != size) continue; // las jaulas no tienen que contener todos los dígitos
+            int once = 0, more = 0, placed = 0;
+            for (int cell : house) {
+                int mask = cand[cell];
+                if (values[cell] != 0) placed |= mask;
+                more |= once & mask;
+                once |= mask;
+            }
+            if (once != fullMask) return -1;
+            int singles = once & ~more & ~placed;
+            while (singles != 0) {
+                int digit = Integer.numberOfTrailingZeros(singles);
+                singles &= singles - 1;
+                for (int cell : house) {
+                    if ((cand[cell] & (1 << digit)) != 0) {
+                        if (!assign(cell, digit)) return -1;
+                        found = 1;
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void record(int cellAndFlag, int oldMask) {
+        if (trailSize == trailCell.length) {
+            trailCell = Arrays.copyOf(trailCell, trailSize * 2);
+            trailMask = Arrays.copyOf(trailMask, trailSize * 2);
+        }
+        trailCell[trailSize] = cellAndFlag;
+        trailMask[trailSize] = oldMask;
+        trailSize++;
+    }
+
+    private void undoTo(int mark) {
+        while (trailSize > mark) {
+            trailSize--;
+            int entry = trailCell[trailSize];
+            int cell = entry & ~ASSIGNED;
+            cand[cell] = trailMask[trailSize];
+            if ((entry & ASSIGNED) != 0) values[cell] = 0;
+        }
+    }
+
+    // ==========================================================
+    //  CHECKPOINTS Y REPARTO DEL TRABAJO
+    // ==========================================================
+
+    /**
+     * Guarda el punto actual de la búsqueda. Lo que ya se exploró no se repite al retomarlo.
+     *
+     * @throws IllegalStateException si la búsqueda ya terminó
+     */
+    public Checkpoint checkpoint() {
+        if (finished != null) throw new IllegalStateException("La búsqueda ya terminó: " + finished);
+        return new Checkpoint(model.getRules(), base,
+                Arrays.copyOf(frameCell, depth), Arrays.copyOf(frameDigit, depth), Arrays.copyOf(frameRemaining, depth));
+    }
+
+    /**
+     * Cede el subárbol pendiente más cercano a la raíz (el más grande) como checkpoint
+     * y deja de explorarlo aquí. Devuelve null si no queda nada que ceder.
+     */
+    public Checkpoint split() {
+        if (finished != null) return null;
+        for (int k = 0; k < depth; k++) {
+            int remaining = frameRemaining[k];
+            if (remaining == 0) continue;
+
+            int[] cells = Arrays.copyOf(frameCell, k + 1);
+            int[] digits = Arrays.copyOf(frameDigit, k + 1);
+            int[] rest = new int[k + 1]; // los niveles de arriba siguen siendo de este solver
+            digits[k] = Integer.numberOfTrailingZeros(remaining);
+            rest[k] = remaining & (remaining - 1);
+            frameRemaining[k] = 0;
+            return new Checkpoint(model.getRules(), base, cells, digits, rest);
+        }
+        return null;
+    }
+
+    /** Tablero actual (la solución si el estado es SOLVED). */
+    public int[][] getSolution() {
+        int[][] grid = new int[size][size];
+        for (int cell = 0; cell < cellCount; cell++) grid[cell / size][cell % size] = values[cell];
+        return grid;
+    }
+
+    /** Nodos explorados (dígitos probados al ramificar) por este solver. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Estado final, o null si la búsqueda sigue abierta. */
+    public Status getFinishedStatus() {
+        return finished;
+    }
+
+    /**
+     * Punto de una búsqueda: tablero inicial y, por cada nivel de la pila, la celda,
+     * el dígito que se está probando y los dígitos que faltan por probar.
+     */
+    public static final class Checkpoint implements Serializable {
+        private static final long serialVersionUID = 2L;
+
+        private final RuleSet rules; // completas: un hash podría confundir dos variantes distintas
+        private final int[] base;
+        private final int[] cells;
+        private final int[] digits;
+        private final int[] remaining;
+
+        private Checkpoint(RuleSet rules, int[] base, int[] cells, int[] digits, int[] remaining) {
+            this.rules = rules;
+            this.base = base;
+            this.cells = cells;
+            this.digits = digits;
+            this.remaining = remaining;
+        }
+
+        /** Checkpoint de una búsqueda que todavía no empezó. */
+        public static Checkpoint of(ConstraintModel model, int[][] start) {
+            int size = model.getSize();
+            int[] base = new int[size * size];
+            for (int cell = 0; cell < base.length; cell++) base[cell] = start[cell / size][cell % size];
+            return new Checkpoint(model.getRules(), base, new int[0], new int[0], new int[0]);
+        }
+
+        public int getDepth() {
+            return cells.length;
+        }
+    }
+
+    /** Resultado de {@link #solveParallel}: la solución o lo que quedó pendiente al vencer el plazo. */
+    public static final class Result {
+        public final Status status;
+        public final int[][] solution;          // null salvo SOLVED
+        public final List<Checkpoint> pending;  // subárboles sin explorar si BUDGET_EXHAUSTED
+        public final long nodes;
+
+        private Result(Status status, int[][] solution, List<Checkpoint> pending, long nodes) {
+            this.status = status;
+            this.solution = solution;
+            this.pending = pending;
+            this.nodes = nodes;
+        }
+    }
+
+    private static final long SLICE_NODES = 2_000; // nodos entre oportunidades de ceder trabajo
+
+    /**
+     * Resuelve en paralelo con work-stealing: cada hilo avanza por tramos cortos y, cuando la
+     * cola del pool se queda sin trabajo, cede el subárbol pendiente más grande. En cuanto un
+     * hilo encuentra la solución los demás se cancelan. Al vencer el plazo devuelve los
+     * checkpoints pendientes, que {@link #resumeParallel} puede retomar.
+     */
+    public static Result solveParallel(ConstraintModel model, int[][] start, int parallelism, long timeoutNanos) {
+        return resumeParallel(model, List.of(Checkpoint.of(model, start)), parallelism, timeoutNanos);
+    }
+
+    /** Continúa en paralelo una búsqueda guardada en uno o varios checkpoints. */
+    public static Result resumeParallel(ConstraintModel model, List<Checkpoint> checkpoints, int parallelism, long timeoutNanos) {
+        ParallelSearch search = new ParallelSearch(model, System.nanoTime() + timeoutNanos);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<SubtreeTask> roots = new ArrayList<>();
+            for (Checkpoint checkpoint : checkpoints) roots.add(new SubtreeTask(search, checkpoint));
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(roots);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        int[][] solution = search.solution.get();
+        long nodes = search.nodes.get();
+        if (solution != null) return new Result(Status.SOLVED, solution, List.of(), nodes);
+        List<Checkpoint> pending = new ArrayList<>(search.pending);
+        return new Result(pending.isEmpty() ? Status.UNSOLVABLE : Status.BUDGET_EXHAUSTED, null, pending, nodes);
+    }
+
+    /** Estado compartido por todas las tareas de una búsqueda en paralelo. */
+    private static final class ParallelSearch {
+        final ConstraintModel model;
+        final long deadline;
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<int[][]> solution = new AtomicReference<>();
+        final Queue<Checkpoint> pending = new ConcurrentLinkedQueue<>();
+        final AtomicLong nodes = new AtomicLong();
+
+        ParallelSearch(ConstraintModel model, long deadline) {
+            this.model = model;
+            this.deadline = deadline;
+        }
+    }
+
+    /** Explora un subárbol y va cediendo partes a otros hilos mientras haya alguno libre. */
+    private static final class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ParallelSearch search;
+        private final Checkpoint checkpoint;
+
+        SubtreeTask(ParallelSearch search, Checkpoint checkpoint) {
+            this.search = search;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.done.get()) return;
+            BudgetedSolver solver = new BudgetedSolver(search.model, checkpoint);
+            solver.setCancelFlag(search.done);
+            List<SubtreeTask> forked = new ArrayList<>();
+
+            loop:
+            while (true) {
+                Status status = solver.run(SLICE_NODES, search.deadline - System.nanoTime());
+                switch (status) {
+                    case SOLVED:
+                        if (search.solution.compareAndSet(null, solver.getSolution())) search.done.set(true);
+                        break loop;
+                    case UNSOLVABLE:
+                    case CANCELLED:
+                        break loop;
+                    case BUDGET_EXHAUSTED:
+                        if (System.nanoTime() - search.deadline >= 0) {
+                            search.pending.add(solver.checkpoint());
+                            break loop;
+                        }
+                        // 🔹 Ceder trabajo solo si los demás hilos se están quedando sin nada
+                        if (getSurplusQueuedTaskCount() < 1) {
+                            Checkpoint stolen = solver.split();
+                            if (stolen != null) {
+                                SubtreeTask task = new SubtreeTask(search, stolen);
+                                task.fork();
+                                forked.add(task);
+                            }
+                        }
+                        break;
+                }
+            }
+            search.nodes.addAndGet(solver.getNodes());
+            for (SubtreeTask task : forked) task.join();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.sudoku_express.Models;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Jaula de Sudoku Killer: un grupo de celdas cuyos valores, sin repetirse,
+ * deben sumar exactamente {@code sum}. Las celdas usan índice lineal (fila * size + columna).
+ */
+public class Cage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public final int sum;
+    public final int[] cells;
+
+    /**
+     * @throws IllegalArgumentException si la jaula está vacía o repite una celda
+     */
+    public Cage(int sum, int... cells) {
+        if (cells.length == 0) throw new IllegalArgumentException("La jaula no tiene celdas");
+        int[] sorted = cells.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Celda repetida en la jaula: " + sorted[i]);
+            }
+        }
+        this.sum = sum;
+        this.cells = cells.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Cage other)) return false;
+        return sum == other.sum && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * sum + Arrays.hashCode(cells);
+    }
+}
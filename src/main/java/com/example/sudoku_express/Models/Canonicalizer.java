@@ -0,0 +1,145 @@
+package com.example.sudoku_express.Models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Calcula la forma canónica de un tablero: el representante mínimo (en orden de lectura)
+ * entre todas sus copias equivalentes por
+ *  - reetiquetado de dígitos,
+ *  - permutación de bandas y de filas dentro de cada banda,
+ *  - permutación de columnas de bloques (stacks) y de columnas dentro de cada una,
+ *  - transposición (solo si los bloques son cuadrados; en 6x6 con bloques 2x3 no conserva la geometría).
+ *
+ * Las permutaciones de filas y columnas se precalculan una vez por geometría.
+ * El reetiquetado no se enumera: para cada permutación se numeran los dígitos
+ * por orden de aparición, que es justamente el etiquetado mínimo.
+ */
+public class Canonicalizer {
+
+    private final int size;
+    private final boolean allowTranspose;
+    private final int[][] rowPerms;
+    private final int[][] colPerms;
+
+    public Canonicalizer(int size, int blockRows, int blockCols) {
+        this.size = size;
+        this.allowTranspose = blockRows == blockCols;
+        this.rowPerms = groupPermutations(size / blockRows, blockRows);
+        this.colPerms = groupPermutations(size / blockCols, blockCols);
+    }
+
+    /**
+     * Devuelve la forma canónica del tablero (0 = celda vacía) como arreglo de bytes
+     * en orden fila * size + columna. Dos tableros equivalentes producen el mismo arreglo.
+     */
+    public byte[] canonicalForm(int[][] grid) {
+        int cells = size * size;
+        byte[] best = new byte[cells];
+        byte[] candidate = new byte[cells];
+        Arrays.fill(best, Byte.MAX_VALUE);
+        int[] labels = new int[size + 1];
+
+        int[][][] sources = allowTranspose ? new int[][][]{grid, transpose(grid)} : new int[][][]{grid};
+        for (int[][] source : sources) {
+            for (int[] rowPerm : rowPerms) {
+                for (int[] colPerm : colPerms) {
+                    if (relabelAndCompare(source, rowPerm, colPerm, labels, candidate, best)) {
+                        byte[] swap = best;
+                        best = candidate;
+                        candidate = swap;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Escribe en candidate la transformación reetiquetada y devuelve true si es menor que best.
+     * Abandona en cuanto una celda supera a la de best (la mayoría de permutaciones mueren en la primera fila).
+     */
+    private boolean relabelAndCompare(int[][] source, int[] rowPerm, int[] colPerm,
+                                      int[] labels, byte[] candidate, byte[] best) {
+        Arrays.fill(labels, 0);
+        int nextLabel = 1;
+        boolean smaller = false;
+        int i = 0;
+        for (int r = 0; r < size; r++) {
+            int[] row = source[rowPerm[r]];
+            for (int c = 0; c < size; c++) {
+                int v = row[colPerm[c]];
+                int label = 0;
+                if (v != 0) {
+                    if (labels[v] == 0) labels[v] = nextLabel++;
+                    label = labels[v];
+                }
+                if (!smaller) {
+                    if (label > best[i]) return false;
+                    if (label < best[i]) smaller = true;
+                }
+                candidate[i++] = (byte) label;
+            }
+        }
+        return smaller;
+    }
+
+    private int[][] transpose(int[][] grid) {
+        int[][] t = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) t[c][r] = grid[r][c];
+        }
+        return t;
+    }
+
+    /**
+     * Todas las permutaciones de líneas que respetan los grupos (bandas o stacks):
+     * se permutan los grupos entre sí y las líneas dentro de cada grupo.
+     */
+    private static int[][] groupPermutations(int groups, int perGroup) {
+        List<int[]> groupOrders = permutations(groups);
+        List<int[]> inner = permutations(perGroup);
+        List<int[]> result = new ArrayList<>();
+        int[] current = new int[groups * perGroup];
+        for (int[] order : groupOrders) {
+            fillGroups(order, inner, 0, perGroup, current, result);
+        }
+        return result.toArray(new int[0][]);
+    }
+
+    private static void fillGroups(int[] order, List<int[]> inner, int group, int perGroup,
+                                   int[] current, List<int[]> result) {
+        if (group == order.length) {
+            result.add(current.clone());
+            return;
+        }
+        for (int[] lines : inner) {
+            for (int i = 0; i < perGroup; i++) {
+                current[group * perGroup + i] = order[group] * perGroup + lines[i];
+            }
+            fillGroups(order, inner, group + 1, perGroup, current, result);
+        }
+    }
+
+    /** Permutaciones de 0..n-1. */
+    private static List<int[]> permutations(int n) {
+        List<int[]> result = new ArrayList<>();
+        int[] items = new int[n];
+        for (int i = 0; i < n; i++) items[i] = i;
+        permute(items, 0, result);
+        return result;
+    }
+
+    private static void permute(int[] items, int k, List<int[]> result) {
+        if (k == items.length) {
+            result.add(items.clone());
+            return;
+        }
+        for (int i = k; i < items.length; i++) {
+            int tmp = items[k]; items[k] = items[i]; items[i] = tmp;
+            permute(items, k + 1, result);
+            tmp = items[k]; items[k] = items[i]; items[i] = tmp;
+        }
+    }
+}
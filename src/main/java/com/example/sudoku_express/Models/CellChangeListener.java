@@ -0,0 +1,9 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Recibe cada jugada hecha con {@link Board#cellMod(int, int, int)}
+ * (los pasos del solver, hechos con {@link Board#cellModBySolver}, no se notifican).
+ */
+public interface CellChangeListener {
+    void onCellChanged(int row, int col, int value);
+}
@@ -0,0 +1,331 @@
+package com.example.sudoku_express.Models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Forma compilada de un {@link RuleSet}.
+ * Todas las reglas (filas, columnas, bloques o regiones, diagonales, jaulas y paridad)
+ * se traducen una sola vez a tablas: casas como arreglos de índices, vecinos como
+ * arreglos y bitsets, y una máscara estática de dígitos permitidos por celda.
+ * Añadir una variante no cuesta nada por jugada: solo cambia el contenido de las tablas.
+ *
+ * Las celdas usan índice lineal (fila * size + columna) y las máscaras usan el bit d para el dígito d.
+ * Orden de las casas: filas [0, size), columnas [size, 2*size), regiones [2*size, 3*size),
+ * después las diagonales (si las hay) y al final una casa por jaula.
+ */
+public class ConstraintModel {
+
+    private static final Map<RuleSet, ConstraintModel> CACHE = new ConcurrentHashMap<>();
+    private static final Map<Integer, int[][]> SUM_TABLES = new ConcurrentHashMap<>();
+
+    // Por encima de este tamaño la tabla de sumas (2^size subconjuntos) no compensa
+    private static final int MAX_SUM_TABLE_SIZE = 16;
+
+    private final RuleSet rules;
+    private final int size;
+    private final int cellCount;
+    private final int fullMask;
+
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[][] houses;      // celdas de cada casa
+    private final int[][] cellHouses;  // casas de cada celda
+    private final int[][] peers;       // vecinos de cada celda (sin ella misma)
+    private final long[][] peerBits;   // los mismos vecinos como bitset
+    private final int[] allowed;       // dígitos permitidos por paridad y por la suma de su jaula
+    private final int[] cageOf;        // jaula de cada celda (-1 = ninguna)
+    private final Cage[] cages;
+
+    /** Devuelve el modelo compilado de las reglas (se compila una sola vez por variante). */
+    public static ConstraintModel compile(RuleSet rules) {
+        return CACHE.computeIfAbsent(rules, ConstraintModel::new);
+    }
+
+    private ConstraintModel(RuleSet rules) {
+        this.rules = rules;
+        this.size = rules.getSize();
+        this.cellCount = size * size;
+        this.fullMask = ((1 << size) - 1) << 1;
+
+        rowOf = new int[cellCount];
+        colOf = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            rowOf[cell] = cell / size;
+            colOf[cell] = cell % size;
+        }
+
+        // 🔹 Paso 1: construir todas las casas
+        List<int[]> houseList = new ArrayList<>();
+        for (int r = 0; r < size; r++) {
+            int[] row = new int[size];
+            for (int c = 0; c < size; c++) row[c] = r * size + c;
+            houseList.add(row);
+        }
+        for (int c = 0; c < size; c++) {
+            int[] col = new int[size];
+            for (int r = 0; r < size; r++) col[r] = r * size + c;
+            houseList.add(col);
+        }
+        int[] regionOfCell = rules.regions();
+        if (regionOfCell == null) {
+            regionOfCell = new int[cellCount];
+            int blocksPerRow = size / rules.getBlockCols();
+            for (int cell = 0; cell < cellCount; cell++) {
+                regionOfCell[cell] = (rowOf[cell] / rules.getBlockRows()) * blocksPerRow + colOf[cell] / rules.getBlockCols();
+            }
+        }
+        int[][] regionCells = new int[size][size];
+        int[] fill = new int[size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int region = regionOfCell[cell];
+            regionCells[region][fill[region]++] = cell;
+        }
+        for (int[] region : regionCells) houseList.add(region);
+        if (rules.hasDiagonals()) {
+            int[] main = new int[size];
+            int[] anti = new int[size];
+            for (int i = 0; i < size; i++) {
+                main[i] = i * size + i;
+                anti[i] = i * size + (size - 1 - i);
+            }
+            houseList.add(main);
+            houseList.add(anti);
+        }
+        List<Cage> cageList = rules.getCages();
+        cages = cageList.toArray(new Cage[0]);
+        for (Cage cage : cages) houseList.add(cage.cells.clone());
+        houses = houseList.toArray(new int[0][]);
+
+        // 🔹 Paso 2: casas por celda
+        int[] houseCountOfCell = new int[cellCount];
+        for (int[] house : houses) {
+            for (int cell : house) houseCountOfCell[cell]++;
+        }
+        cellHouses = new int[cellCount][];
+        for (int cell = 0; cell < cellCount; cell++) cellHouses[cell] = new int[houseCountOfCell[cell]];
+        int[] next = new int[cellCount];
+        for (int h = 0; h < houses.length; h++) {
+            for (int cell : houses[h]) cellHouses[cell][next[cell]++] = h;
+        }
+
+        // 🔹 Paso 3: vecinos = unión de las casas de la celda, como bitset y como arreglo
+        int words = (cellCount + 63) >>> 6;
+        peerBits = new long[cellCount][words];
+        peers = new int[cellCount][];
+        for (int cell = 0; cell < cellCount; cell++) {
+            long[] bits = peerBits[cell];
+            for (int h : cellHouses[cell]) {
+                for (int other : houses[h]) bits[other >>> 6] |= 1L << other;
+            }
+            bits[cell >>> 6] &= ~(1L << cell);
+
+            int count = 0;
+            for (long word : bits) count += Long.bitCount(word);
+            int[] list = new int[count];
+            int n = 0;
+            for (int w = 0; w < words; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    list[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            peers[cell] = list;
+        }
+
+        // 🔹 Paso 4: máscara estática por celda (paridad y combinaciones posibles de la jaula)
+        allowed = new int[cellCount];
+        cageOf = new int[cellCount];
+        int oddMask = 0;
+        for (int d = 1; d <= size; d += 2) oddMask |= 1 << d;
+        int[] parity = rules.parity();
+        for (int cell = 0; cell < cellCount; cell++) {
+            int mask = fullMask;
+            if (parity != null && parity[cell] == RuleSet.PARITY_ODD) mask &= oddMask;
+            if (parity != null && parity[cell] == RuleSet.PARITY_EVEN) mask &= ~oddMask;
+            allowed[cell] = mask;
+            cageOf[cell] = -1;
+        }
+        int[][] sumTable = size <= MAX_SUM_TABLE_SIZE ? SUM_TABLES.computeIfAbsent(size, ConstraintModel::buildSumTable) : null;
+        for (int i = 0; i < cages.length; i++) {
+            Cage cage = cages[i];
+            int combos = fullMask;
+            if (sumTable != null) {
+                combos = cage.cells.length <= size && cage.sum < sumTable[0].length ? sumTable[cage.cells.length][cage.sum] : 0;
+                if (combos == 0) {
+                    throw new IllegalArgumentException("Ninguna combinación de " + cage.cells.length + " dígitos suma " + cage.sum);
+                }
+            }
+            for (int cell : cage.cells) {
+                cageOf[cell] = i;
+                allowed[cell] &= combos;
+            }
+        }
+    }
+
+    /**
+     * Tabla de sumas Killer: table[k][s] = unión de los dígitos de todas las
+     * combinaciones de k dígitos distintos (1..size) que suman s.
+     */
+    private static int[][] buildSumTable(int size) {
+        int maxSum = size * (size + 1) / 2;
+        int[][] table = new int[size + 1][maxSum + 1];
+        int subsets = 1 << size;
+        int[] sums = new int[subsets];
+        for (int subset = 1; subset < subsets; subset++) {
+            int low = Integer.numberOfTrailingZeros(subset);
+            sums[subset] = sums[subset & (subset - 1)] + low + 1;
+            table[Integer.bitCount(subset)][sums[subset]] |= subset << 1;
+        }
+        return table;
+    }
+
+    // ==========================================================
+    //  CONSULTAS SOBRE UNA CUADRÍCULA
+    // ==========================================================
+
+    /**
+     * Verifica si num puede colocarse en (row, col) sin romper ninguna regla.
+     * El valor actual de la propia celda se ignora.
+     */
+    public boolean canPlace(int[][] grid, int row, int col, int num) {
+        int cell = row * size + col;
+        if ((allowed[cell] & (1 << num)) == 0) return false;
+        for (int p : peers[cell]) {
+            if (grid[rowOf[p]][colOf[p]] == num) return false;
+        }
+        int cage = cageOf[cell];
+        return cage < 0 || cageFits(grid, cage, cell, num);
+    }
+
+    /** Devuelve la máscara de dígitos que pueden colocarse en (row, col). */
+    public int candidates(int[][] grid, int row, int col) {
+        int cell = row * size + col;
+        int mask = allowed[cell];
+        for (int p : peers[cell]) {
+            mask &= ~(1 << grid[rowOf[p]][colOf[p]]);
+        }
+        int cage = cageOf[cell];
+        if (cage >= 0) {
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                int d = Integer.numberOfTrailingZeros(bits);
+                if (!cageFits(grid, cage, cell, d)) mask &= ~(1 << d);
+            }
+        }
+        return mask & fullMask;
+    }
+
+    /**
+     * Comprueba que la suma de la jaula sigue siendo alcanzable si se coloca num en cell:
+     * lo que falta debe estar entre la suma mínima y máxima de dígitos libres.
+     */
+    private boolean cageFits(int[][] grid, int cageIndex, int cell, int num) {
+        Cage cage = cages[cageIndex];
+        int total = num;
+        int used = 1 << num;
+        int empty = 0;
+        for (int c : cage.cells) {
+            if (c == cell) continue;
+            int v = grid[rowOf[c]][colOf[c]];
+            if (v == 0) {
+                empty++;
+            } else {
+                total += v;
+                used |= 1 << v;
+            }
+        }
+        int remaining = cage.sum - total;
+        if (empty == 0) return remaining == 0;
+
+        int min = 0, max = 0, n = 0;
+        for (int d = 1; d <= size && n < empty; d++) {
+            if ((used & (1 << d)) == 0) { min += d; n++; }
+        }
+        if (n < empty) return false;
+        n = 0;
+        for (int d = size; d >= 1 && n < empty; d--) {
+            if ((used & (1 << d)) == 0) { max += d; n++; }
+        }
+        return remaining >= min && remaining <= max;
+    }
+
+    /** Indica si la cuadrícula está completa y cumple todas las reglas. */
+    public boolean isSolved(int[][] grid) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            int v = grid[rowOf[cell]][colOf[cell]];
+            if (v < 1 || v > size || (allowed[cell] & (1 << v)) == 0) return false;
+        }
+        for (int[] house : houses) {
+            int seen = 0;
+            for (int cell : house) {
+                int bit = 1 << grid[rowOf[cell]][colOf[cell]];
+                if ((seen & bit) != 0) return false;
+                seen |= bit;
+            }
+        }
+        for (Cage cage : cages) {
+            int total = 0;
+            for (int cell : cage.cells) total += grid[rowOf[cell]][colOf[cell]];
+            if (total != cage.sum) return false;
+        }
+        return true;
+    }
+
+    // ==========================================================
+    //  TABLAS COMPILADAS (no modificar los arreglos devueltos)
+    // ==========================================================
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int cellCount() {
+        return cellCount;
+    }
+
+    /** Máscara con los bits 1..size encendidos. */
+    public int fullMask() {
+        return fullMask;
+    }
+
+    public int houseCount() {
+        return houses.length;
+    }
+
+    /** Celdas de la casa h. */
+    public int[] house(int h) {
+        return houses[h];
+    }
+
+    /** Celdas de la región (bloque o pieza Jigsaw) número region. */
+    public int[] regionCells(int region) {
+        return houses[2 * size + region];
+    }
+
+    /** Casas a las que pertenece la celda. */
+    public int[] housesOf(int cell) {
+        return cellHouses[cell];
+    }
+
+    /** Vecinos de la celda. */
+    public int[] peersOf(int cell) {
+        return peers[cell];
+    }
+
+    /** Indica en O(1) si dos celdas comparten alguna casa. */
+    public boolean isPeer(int a, int b) {
+        return (peerBits[a][b >>> 6] & (1L << b)) != 0;
+    }
+
+    /** Dígitos permitidos en la celda por paridad y jaula, sin mirar el tablero. */
+    public int allowedMask(int cell) {
+        return allowed[cell];
+    }
+}
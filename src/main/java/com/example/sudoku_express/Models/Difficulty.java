@@ -0,0 +1,21 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Nivel de dificultad de un tablero.
+ */
+public enum Difficulty {
+    EASY("Fácil"),
+    MEDIUM("Medio"),
+    HARD("Difícil");
+
+    private final String label;
+
+    Difficulty(String label) {
+        this.label = label;
+    }
+
+    /** Nombre para mostrar en la interfaz. */
+    public String getLabel() {
+        return label;
+    }
+}
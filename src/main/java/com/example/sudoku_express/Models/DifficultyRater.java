@@ -0,0 +1,74 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Estima la dificultad de un tablero según las técnicas que hacen falta para resolverlo:
+ *  - EASY: basta con singles desnudos (celdas con un solo candidato),
+ *  - MEDIUM: además hacen falta singles ocultos (un dígito que solo cabe en una celda de su casa),
+ *  - HARD: con esas dos técnicas no se completa (hay que probar y retroceder).
+ */
+public final class DifficultyRater {
+
+    private DifficultyRater() {
+    }
+
+    public static Difficulty rate(ConstraintModel model, int[][] puzzle) {
+        int size = model.getSize();
+        int[][] grid = new int[size][];
+        for (int r = 0; r < size; r++) grid[r] = puzzle[r].clone();
+
+        boolean usedHidden = false;
+        while (true) {
+            if (nakedSingles(model, grid)) continue;
+            if (hiddenSingle(model, grid)) {
+                usedHidden = true;
+                continue;
+            }
+            break;
+        }
+        if (!model.isSolved(grid)) return Difficulty.HARD;
+        return usedHidden ? Difficulty.MEDIUM : Difficulty.EASY;
+    }
+
+    /** Coloca todos los singles desnudos de una pasada. Devuelve true si colocó alguno. */
+    private static boolean nakedSingles(ConstraintModel model, int[][] grid) {
+        int size = model.getSize();
+        boolean placed = false;
+        for (int cell = 0; cell < size * size; cell++) {
+            int r = cell / size, c = cell % size;
+            if (grid[r][c] != 0) continue;
+            int mask = model.candidates(grid, r, c);
+            if (Integer.bitCount(mask) == 1) {
+                grid[r][c] = Integer.numberOfTrailingZeros(mask);
+                placed = true;
+            }
+        }
+        return placed;
+    }
+
+    /** Coloca el primer single oculto que encuentre en una casa completa. */
+    private static boolean hiddenSingle(ConstraintModel model, int[][] grid) {
+        int size = model.getSize();
+        for (int h = 0; h < model.houseCount(); h++) {
+            int[] house = model.house(h);
+            if (house.length != size) continue; // las jaulas no contienen todos los dígitos
+            int once = 0, more = 0;
+            for (int cell : house) {
+                if (grid[cell / size][cell % size] != 0) continue;
+                int mask = model.candidates(grid, cell / size, cell % size);
+                more |= once & mask;
+                once |= mask;
+            }
+            int singles = once & ~more;
+            if (singles == 0) continue;
+            int bit = Integer.lowestOneBit(singles);
+            for (int cell : house) {
+                int r = cell / size, c = cell % size;
+                if (grid[r][c] == 0 && (model.candidates(grid, r, c) & bit) != 0) {
+                    grid[r][c] = Integer.numberOfTrailingZeros(bit);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.sudoku_express.Models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Acumulado de partidas para una dificultad (de un jugador o global).
+ * Los contadores son totales y los tiempos de victoria van a un histograma de tamaño fijo,
+ * así que cualquier consulta es O(1) o un recorrido del histograma.
+ */
+public class DifficultyStats {
+
+    private long games;
+    private long wins;
+    private long hints;
+    private long errors;
+    private final SolveTimeHistogram solveTimes;
+
+    public DifficultyStats() {
+        this(new SolveTimeHistogram());
+    }
+
+    private DifficultyStats(SolveTimeHistogram solveTimes) {
+        this.solveTimes = solveTimes;
+    }
+
+    /** Suma una partida terminada. Solo las victorias aportan tiempo de resolución. */
+    public void record(GameResult result) {
+        games++;
+        hints += result.hints;
+        errors += result.errors;
+        if (result.won) {
+            wins++;
+            solveTimes.record(result.solveMillis);
+        }
+    }
+
+    /** Suma otro acumulado a este. */
+    public void merge(DifficultyStats other) {
+        games += other.games;
+        wins += other.wins;
+        hints += other.hints;
+        errors += other.errors;
+        solveTimes.merge(other.solveTimes);
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    public double getAverageHints() {
+        return games == 0 ? 0 : (double) hints / games;
+    }
+
+    public double getAverageErrors() {
+        return games == 0 ? 0 : (double) errors / games;
+    }
+
+    /** Tiempo de resolución (ms) en el percentil pedido, p. ej. 50, 90 o 99. */
+    public long solveTimePercentile(double percentile) {
+        return solveTimes.valueAtPercentile(percentile);
+    }
+
+    public SolveTimeHistogram getSolveTimes() {
+        return solveTimes;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        SolveTimeHistogram.writeVarLong(out, games);
+        SolveTimeHistogram.writeVarLong(out, wins);
+        SolveTimeHistogram.writeVarLong(out, hints);
+        SolveTimeHistogram.writeVarLong(out, errors);
+        solveTimes.writeTo(out);
+    }
+
+    public static DifficultyStats readFrom(DataInput in) throws IOException {
+        long games = SolveTimeHistogram.readVarLong(in);
+        long wins = SolveTimeHistogram.readVarLong(in);
+        long hints = SolveTimeHistogram.readVarLong(in);
+        long errors = SolveTimeHistogram.readVarLong(in);
+        DifficultyStats stats = new DifficultyStats(SolveTimeHistogram.readFrom(in));
+        stats.games = games;
+        stats.wins = wins;
+        stats.hints = hints;
+        stats.errors = errors;
+        return stats;
+    }
+}
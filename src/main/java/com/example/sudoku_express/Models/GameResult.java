@@ -0,0 +1,22 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Resultado de una partida terminada (ganada o abandonada).
+ */
+public class GameResult {
+    public final String player;
+    public final Difficulty difficulty;
+    public final long solveMillis;
+    public final int hints;
+    public final int errors;
+    public final boolean won;
+
+    public GameResult(String player, Difficulty difficulty, long solveMillis, int hints, int errors, boolean won) {
+        this.player = player;
+        this.difficulty = difficulty;
+        this.solveMillis = solveMillis;
+        this.hints = hints;
+        this.errors = errors;
+        this.won = won;
+    }
+}
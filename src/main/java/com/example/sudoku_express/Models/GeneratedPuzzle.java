@@ -0,0 +1,16 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Tablero recién generado: lo visible (0 = vacía), su solución y la dificultad estimada.
+ */
+public class GeneratedPuzzle {
+    public final int[][] puzzle;
+    public final int[][] solution;
+    public final Difficulty difficulty;
+
+    public GeneratedPuzzle(int[][] puzzle, int[][] solution, Difficulty difficulty) {
+        this.puzzle = puzzle;
+        this.solution = solution;
+        this.difficulty = difficulty;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Forma en que {@link Board} obtiene cada tablero nuevo.
+ */
+public interface GenerationStrategy {
+
+    /** Genera un tablero con solución para las reglas del modelo. */
+    GeneratedPuzzle generate(ConstraintModel model);
+
+    /** Indica si la estrategia sabe generar tableros para estas reglas. */
+    default boolean supports(ConstraintModel model) {
+        return true;
+    }
+}
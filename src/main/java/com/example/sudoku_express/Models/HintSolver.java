@@ -26,20 +26,28 @@ public class HintSolver {
 
         if (solution == null) return null;
 
+        ConstraintModel model = board.getModel();
         List<Hint> available = new ArrayList<>();
+        List<Hint> singles = new ArrayList<>();
 
         // Buscar todas las celdas vacías editables
         for (int r = 0; r < current.length; r++) {
             for (int c = 0; c < current[r].length; c++) {
                 if (!fixed[r][c] && current[r][c] == 0) {
-                    available.add(new Hint(r, c, solution[r][c]));
+                    Hint hint = new Hint(r, c, solution[r][c]);
+                    available.add(hint);
+
+                    // Candidato único según las reglas compiladas: pista deducible
+                    int mask = model.candidates(current, r, c);
+                    if (mask == 1 << solution[r][c]) singles.add(hint);
                 }
             }
         }
 
         if (available.size()<=1) return null;
 
-        // Seleccionar una celda aleatoria
+        // Preferir una celda con candidato único; si no hay, una celda aleatoria
+        if (!singles.isEmpty()) return singles.get(random.nextInt(singles.size()));
         return available.get(random.nextInt(available.size()));
     }
 }
@@ -0,0 +1,182 @@
+package com.example.sudoku_express.Models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Filtro de Bloom persistente con las formas canónicas de los tableros ya servidos.
+ * Tamaño fijo (se decide al crear el archivo): cada consulta o inserción cuesta
+ * {@code hashes} accesos a bits, sin importar cuántos tableros se hayan servido.
+ * Puede dar falsos positivos (un tablero nuevo rechazado), nunca falsos negativos.
+ *
+ * Los bits se cargan en memoria al abrir y {@link #flush()} escribe solo los bytes que cambiaron;
+ * entre escrituras el archivo no queda abierto ni mapeado (en Windows un mapeo lo bloquearía).
+ * Formato: int mágico, int número de hashes, long número de bits y después los bits.
+ *
+ * Se lleva la cuenta de bits encendidos: con el número óptimo de hashes, el filtro alcanza su
+ * tasa de falsos positivos de diseño cuando la mitad de los bits está encendida
+ * ({@link #isFull()}); a partir de ahí la tasa crece rápido hacia 1.
+ */
+public class PuzzleBloomFilter implements Closeable {
+
+    private static final int MAGIC = 0x53424C46; // "SBLF"
+    private static final int HEADER_BYTES = 16;
+
+    private final Path file;          // null si el filtro vive solo en memoria
+    private final ByteBuffer bits;
+    private final long bitCount;
+    private final int hashes;
+    private final BitSet dirtyBytes = new BitSet();
+    private long setBits;
+
+    private PuzzleBloomFilter(Path file, ByteBuffer bits, long bitCount, int hashes) {
+        this.file = file;
+        this.bits = bits;
+        this.bitCount = bitCount;
+        this.hashes = hashes;
+        for (int i = 0; i < bits.capacity(); i++) setBits += Integer.bitCount(bits.get(i) & 0xff);
+    }
+
+    /**
+     * Abre (o crea) el filtro en un archivo.
+     * Si el archivo ya existe se respetan sus parámetros y se ignoran expectedItems y falsePositiveRate.
+     */
+    public static PuzzleBloomFilter open(Path file, long expectedItems, double falsePositiveRate) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long bitCount;
+            int hashes;
+            if (channel.size() >= HEADER_BYTES) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                channel.read(header, 0);
+                header.flip();
+                if (header.getInt() != MAGIC) throw new IOException("No es un filtro de tableros: " + file);
+                hashes = header.getInt();
+                bitCount = header.getLong();
+                if (hashes < 1 || bitCount < 64 || bitCount % 64 != 0 || bitCount / 8 > Integer.MAX_VALUE) {
+                    throw new IOException("Cabecera de filtro inválida: " + file);
+                }
+            } else {
+                bitCount = optimalBits(expectedItems, falsePositiveRate);
+                hashes = optimalHashes(expectedItems, bitCount);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(hashes).putLong(bitCount).flip();
+                channel.write(header, 0);
+                channel.write(ByteBuffer.allocate(1), HEADER_BYTES + bitCount / 8 - 1); // reserva el archivo completo
+            }
+            ByteBuffer bits = ByteBuffer.allocate((int) (bitCount / 8));
+            while (bits.hasRemaining()) {
+                if (channel.read(bits, HEADER_BYTES + bits.position()) < 0) break; // el resto queda en cero
+            }
+            bits.clear();
+            return new PuzzleBloomFilter(file, bits, bitCount, hashes);
+        }
+    }
+
+    /** Crea un filtro que no se guarda en disco. */
+    public static PuzzleBloomFilter inMemory(long expectedItems, double falsePositiveRate) {
+        long bitCount = optimalBits(expectedItems, falsePositiveRate);
+        return new PuzzleBloomFilter(null, ByteBuffer.allocate((int) (bitCount / 8)), bitCount, optimalHashes(expectedItems, bitCount));
+    }
+
+    /** m = -n ln p / (ln 2)^2, redondeado a palabras de 64 bits. */
+    private static long optimalBits(long expectedItems, double falsePositiveRate) {
+        double m = -expectedItems * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long words = Math.max(1, (long) Math.ceil(m / 64));
+        if (words * 8 > Integer.MAX_VALUE) throw new IllegalArgumentException("Filtro demasiado grande");
+        return words * 64;
+    }
+
+    /** k = (m / n) ln 2. */
+    private static int optimalHashes(long expectedItems, long bitCount) {
+        return Math.max(1, (int) Math.round((double) bitCount / Math.max(1, expectedItems) * Math.log(2)));
+    }
+
+    /** Indica si la clave pudo haberse insertado antes (false = seguro que no). */
+    public synchronized boolean mightContain(byte[] key) {
+        long h1 = fnv1a(key);
+        long h2 = mix(h1 ^ key.length) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 3);
+            if ((bits.get(index) & (1 << (bit & 7))) == 0) return false;
+        }
+        return true;
+    }
+
+    /** Inserta la clave. Devuelve true si algún bit cambió (la clave era nueva). */
+    public synchronized boolean put(byte[] key) {
+        long h1 = fnv1a(key);
+        long h2 = mix(h1 ^ key.length) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 3);
+            byte current = bits.get(index);
+            byte updated = (byte) (current | (1 << (bit & 7)));
+            if (updated != current) {
+                bits.put(index, updated);
+                dirtyBytes.set(index);
+                setBits++;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /** Fracción de bits encendidos (0–1). */
+    public synchronized double getFillRatio() {
+        return (double) setBits / bitCount;
+    }
+
+    /** Cantidad aproximada de claves insertadas: n ≈ -(m / k) ln(1 - bits encendidos / m). */
+    public synchronized long approximateCount() {
+        if (setBits >= bitCount) return Long.MAX_VALUE;
+        return Math.round(-(double) bitCount / hashes * Math.log1p(-(double) setBits / bitCount));
+    }
+
+    /** Indica si el filtro llegó a su capacidad de diseño (la mitad de los bits encendidos). */
+    public synchronized boolean isFull() {
+        return setBits * 2 >= bitCount;
+    }
+
+    /** Escribe en disco los bytes que cambiaron desde la última vez. */
+    public synchronized void flush() throws IOException {
+        if (file == null || dirtyBytes.isEmpty()) return;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            for (int index = dirtyBytes.nextSetBit(0); index >= 0; index = dirtyBytes.nextSetBit(index + 1)) {
+                one.clear();
+                one.put(0, bits.get(index));
+                channel.write(one, HEADER_BYTES + index);
+            }
+            channel.force(false);
+        }
+        dirtyBytes.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+    }
+
+    private static long fnv1a(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** Mezclador final de SplitMix64: segundo hash independiente para el doble hashing. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
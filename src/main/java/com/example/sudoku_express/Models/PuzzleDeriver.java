@@ -0,0 +1,242 @@
+package com.example.sudoku_express.Models;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Genera tableros derivando semillas verificadas en vez de buscar una solución.
+ * Cada tablero sale de una semilla elegida al azar a la que se le aplican transformaciones
+ * que conservan la validez:
+ *  - reetiquetado de dígitos,
+ *  - permutación de bandas y de filas dentro de cada banda,
+ *  - permutación de stacks y de columnas dentro de cada uno,
+ *  - transposición (solo si los bloques son cuadrados).
+ *
+ * El resultado tiene la misma unicidad y dificultad que la semilla y se obtiene en
+ * microsegundos. Como son copias equivalentes comparten forma canónica con su semilla, así que
+ * Board sirve cada semilla una sola vez y después recurre al backtracking.
+ */
+public class PuzzleDeriver implements GenerationStrategy {
+
+    private static final String DEFAULT_SEEDS = "/com/example/sudoku_express/seeds-6x6.txt";
+
+    private final int size;
+    private final int blockRows;
+    private final int blockCols;
+    private final RuleSet rules;
+    private final EnumMap<Difficulty, List<GeneratedPuzzle>> seeds = new EnumMap<>(Difficulty.class);
+    private final List<GeneratedPuzzle> allSeeds = new ArrayList<>();
+    private volatile Difficulty preferred; // null = cualquier dificultad
+
+    /**
+     * Lee y verifica las semillas. Cada línea no vacía (las que empiezan con # se ignoran) es
+     * {@code DIFICULTAD tablero solución}, con size*size dígitos por tablero en orden de lectura.
+     *
+     * @throws IllegalArgumentException si alguna semilla no es válida o no tiene solución única
+     */
+    public PuzzleDeriver(InputStream in, int size, int blockRows, int blockCols) throws IOException {
+        this.size = size;
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        this.rules = RuleSet.standard(size, blockRows, blockCols);
+        ConstraintModel model = ConstraintModel.compile(rules);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != 3) throw invalidSeed(lineNumber, "se esperaban 3 campos");
+            Difficulty difficulty;
+            try {
+                difficulty = Difficulty.valueOf(parts[0]);
+            } catch (IllegalArgumentException e) {
+                throw invalidSeed(lineNumber, "dificultad desconocida " + parts[0]);
+            }
+            int[][] puzzle = parseGrid(parts[1], lineNumber);
+            int[][] solution = parseGrid(parts[2], lineNumber);
+            verify(model, puzzle, solution, lineNumber);
+            if (DifficultyRater.rate(model, puzzle) != difficulty) {
+                throw invalidSeed(lineNumber, "la dificultad no coincide con DifficultyRater");
+            }
+
+            GeneratedPuzzle seed = new GeneratedPuzzle(puzzle, solution, difficulty);
+            seeds.computeIfAbsent(difficulty, d -> new ArrayList<>()).add(seed);
+            allSeeds.add(seed);
+        }
+        if (allSeeds.isEmpty()) throw new IllegalArgumentException("No hay semillas");
+    }
+
+    /** Carga las semillas 6x6 incluidas en la aplicación. */
+    public static PuzzleDeriver loadDefault() {
+        try (InputStream in = PuzzleDeriver.class.getResourceAsStream(DEFAULT_SEEDS)) {
+            if (in == null) throw new IllegalStateException("Falta el recurso " + DEFAULT_SEEDS);
+            return new PuzzleDeriver(in, 6, 2, 3);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudieron leer las semillas: " + e.getMessage(), e);
+        }
+    }
+
+    /** Limita las derivaciones a una dificultad (null = cualquiera). */
+    public void setDifficulty(Difficulty difficulty) {
+        this.preferred = difficulty;
+    }
+
+    public Difficulty getDifficulty() {
+        return preferred;
+    }
+
+    /** Solo sirve para el Sudoku clásico de la misma geometría que las semillas. */
+    @Override
+    public boolean supports(ConstraintModel model) {
+        return model.getRules().equals(rules);
+    }
+
+    @Override
+    public GeneratedPuzzle generate(ConstraintModel model) {
+        if (!supports(model)) {
+            throw new IllegalArgumentException("Las semillas solo sirven para el Sudoku clásico de " + size + "x" + size);
+        }
+        return derive(preferred);
+    }
+
+    /** Deriva un tablero de una semilla al azar de la dificultad pedida (o de cualquiera si no hay). */
+    public GeneratedPuzzle derive(Difficulty difficulty) {
+        Random random = ThreadLocalRandom.current();
+        List<GeneratedPuzzle> pool = difficulty == null ? allSeeds : seeds.getOrDefault(difficulty, allSeeds);
+        GeneratedPuzzle seed = pool.get(random.nextInt(pool.size()));
+
+        // 🔹 Paso 1: sortear las transformaciones
+        int[] labels = new int[size + 1];
+        int[] digits = permutation(size, random);
+        for (int d = 1; d <= size; d++) labels[d] = digits[d - 1] + 1;
+        int[] rowMap = groupedPermutation(size / blockRows, blockRows, random);
+        int[] colMap = groupedPermutation(size / blockCols, blockCols, random);
+        boolean transpose = blockRows == blockCols && random.nextBoolean();
+
+        // 🔹 Paso 2: aplicarlas a la vez al tablero y a la solución
+        return new GeneratedPuzzle(
+                transform(seed.puzzle, labels, rowMap, colMap, transpose),
+                transform(seed.solution, labels, rowMap, colMap, transpose),
+                seed.difficulty);
+    }
+
+    /** Cuántas semillas hay de una dificultad. */
+    public int seedCount(Difficulty difficulty) {
+        List<GeneratedPuzzle> pool = seeds.get(difficulty);
+        return pool == null ? 0 : pool.size();
+    }
+
+    private int[][] transform(int[][] source, int[] labels, int[] rowMap, int[] colMap, boolean transpose) {
+        int[][] out = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            int[] from = source[rowMap[r]];
+            for (int c = 0; c < size; c++) {
+                int value = labels[from[colMap[c]]];
+                if (transpose) out[c][r] = value;
+                else out[r][c] = value;
+            }
+        }
+        return out;
+    }
+
+    /** Permutación que mezcla los grupos y, por separado, los elementos dentro de cada grupo. */
+    private static int[] groupedPermutation(int groups, int groupSize, Random random) {
+        int[] groupOrder = permutation(groups, random);
+        int[] map = new int[groups * groupSize];
+        for (int g = 0; g < groups; g++) {
+            int[] inner = permutation(groupSize, random);
+            for (int i = 0; i < groupSize; i++) {
+                map[g * groupSize + i] = groupOrder[g] * groupSize + inner[i];
+            }
+        }
+        return map;
+    }
+
+    private static int[] permutation(int n, Random random) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) p[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = p[i];
+            p[i] = p[j];
+            p[j] = tmp;
+        }
+        return p;
+    }
+
+    // ==========================================================
+    //  VERIFICACIÓN DE SEMILLAS (una sola vez, al cargar)
+    // ==========================================================
+
+    private int[][] parseGrid(String digits, int lineNumber) {
+        if (digits.length() != size * size) {
+            throw invalidSeed(lineNumber, "se esperaban " + size * size + " dígitos");
+        }
+        int[][] grid = new int[size][size];
+        for (int cell = 0; cell < size * size; cell++) {
+            int value = Character.digit(digits.charAt(cell), size + 1);
+            if (value < 0 || value > size) throw invalidSeed(lineNumber, "dígito fuera de rango");
+            grid[cell / size][cell % size] = value;
+        }
+        return grid;
+    }
+
+    private void verify(ConstraintModel model, int[][] puzzle, int[][] solution, int lineNumber) {
+        if (!model.isSolved(solution)) throw invalidSeed(lineNumber, "la solución no es válida");
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (puzzle[r][c] != 0 && puzzle[r][c] != solution[r][c]) {
+                    throw invalidSeed(lineNumber, "el tablero no coincide con la solución");
+                }
+            }
+        }
+        int[][] work = new int[size][];
+        for (int r = 0; r < size; r++) work[r] = puzzle[r].clone();
+        if (countSolutions(model, work, 2) != 1) throw invalidSeed(lineNumber, "la solución no es única");
+    }
+
+    /** Cuenta soluciones hasta {@code limit}, eligiendo siempre la celda con menos candidatos. */
+    private int countSolutions(ConstraintModel model, int[][] grid, int limit) {
+        int bestCell = -1, bestMask = 0, bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < size * size; cell++) {
+            int r = cell / size, c = cell % size;
+            if (grid[r][c] != 0) continue;
+            int mask = model.candidates(grid, r, c);
+            int count = Integer.bitCount(mask);
+            if (count == 0) return 0;
+            if (count < bestCount) {
+                bestCell = cell;
+                bestMask = mask;
+                bestCount = count;
+            }
+        }
+        if (bestCell < 0) return 1;
+
+        int r = bestCell / size, c = bestCell % size;
+        int found = 0;
+        for (int d = 1; d <= size && found < limit; d++) {
+            if ((bestMask & (1 << d)) == 0) continue;
+            grid[r][c] = d;
+            found += countSolutions(model, grid, limit - found);
+        }
+        grid[r][c] = 0;
+        return found;
+    }
+
+    private static IllegalArgumentException invalidSeed(int lineNumber, String reason) {
+        return new IllegalArgumentException("Semilla inválida en la línea " + lineNumber + ": " + reason);
+    }
+}
@@ -54,26 +54,43 @@ public class PuzzleGenerator {
      * Genera una cuadrícula Sudoku 6x6 completa y válida.
      */
     public int[][] generateFullSolution(int rows, int cols, int blockRows, int blockCols) {
-        int[][] grid = new int[rows][cols];
-        solveSudoku(grid, rows, cols, blockRows, blockCols);
+        return generateFullSolution(ConstraintModel.compile(RuleSet.standard(rows, blockRows, blockCols)));
+    }
+
+    /**
+     * Genera una cuadrícula completa que cumple todas las reglas del modelo compilado.
+     */
+    public int[][] generateFullSolution(ConstraintModel model) {
+        int size = model.getSize();
+        int[][] grid = new int[size][size];
+        solveSudoku(grid, model);
         return grid;
     }
 
+    /**
+     * Completa en el sitio un tablero parcial. Devuelve false si no tiene solución.
+     */
+    public boolean solve(int[][] grid, ConstraintModel model) {
+        return solveSudoku(grid, model);
+    }
+
     /**
      * Resuelve el Sudoku por backtracking (rellenando toda la cuadrícula).
+     * La validez de cada número la decide el modelo compilado (vecinos, paridad y jaulas).
      */
-    private boolean solveSudoku(int[][] grid, int rows, int cols, int blockRows, int blockCols) {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
+    private boolean solveSudoku(int[][] grid, ConstraintModel model) {
+        int size = model.getSize();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
                 if (grid[r][c] == 0) {
                     List<Integer> nums = new ArrayList<>();
-                    for (int n = 1; n <= cols; n++) nums.add(n);
+                    for (int n = 1; n <= size; n++) nums.add(n);
                     Collections.shuffle(nums, random);
 
                     for (int num : nums) {
-                        if (isValid(grid, r, c, num, rows, cols, blockRows, blockCols)) {
+                        if (model.canPlace(grid, r, c, num)) {
                             grid[r][c] = num;
-                            if (solveSudoku(grid, rows, cols, blockRows, blockCols))
+                            if (solveSudoku(grid, model))
                                 return true;
                             grid[r][c] = 0;
                         }
@@ -85,27 +102,6 @@ public class PuzzleGenerator {
         return true;
     }
 
-    /**
-     * Verifica si el número puede colocarse en (row, col) respetando las reglas de Sudoku 6x6.
-     */
-    private boolean isValid(int[][] grid, int row, int col, int num, int rows, int cols, int blockRows, int blockCols) {
-        for (int i = 0; i < cols; i++) {
-            if (grid[row][i] == num || grid[i][col] == num)
-                return false;
-        }
-
-        int startRow = (row / blockRows) * blockRows;
-        int startCol = (col / blockCols) * blockCols;
-
-        for (int r = 0; r < blockRows; r++) {
-            for (int c = 0; c < blockCols; c++) {
-                if (grid[startRow + r][startCol + c] == num)
-                    return false;
-            }
-        }
-        return true;
-    }
-
     // ==========================================================
     //  GENERADOR DEL TABLERO VISIBLE (2 CELDAS FIJAS POR BLOQUE)
     // ==========================================================
@@ -115,29 +111,31 @@ public class PuzzleGenerator {
      * Deja solo 2 celdas visibles por bloque 2x3.
      */
     public int[][] generatePuzzleFromSolution(int[][] solution, int rows, int cols, int blockRows, int blockCols) {
-        int[][] puzzle = new int[rows][cols];
+        return generatePuzzleFromSolution(solution, ConstraintModel.compile(RuleSet.standard(rows, blockRows, blockCols)));
+    }
+
+    /**
+     * Crea un tablero visible a partir de la solución completa.
+     * Deja solo 2 celdas visibles por región (bloque o pieza Jigsaw) del modelo.
+     */
+    public int[][] generatePuzzleFromSolution(int[][] solution, ConstraintModel model) {
+        int size = model.getSize();
+        int[][] puzzle = new int[size][size];
 
         // Copiar la solución completa
-        for (int r = 0; r < rows; r++) {
-            System.arraycopy(solution[r], 0, puzzle[r], 0, cols);
+        for (int r = 0; r < size; r++) {
+            System.arraycopy(solution[r], 0, puzzle[r], 0, size);
         }
 
-        // Para cada bloque 2x3, dejar visibles solo 2 celdas aleatorias
-        for (int br = 0; br < rows; br += blockRows) {
-            for (int bc = 0; bc < cols; bc += blockCols) {
-                List<int[]> cells = new ArrayList<>();
+        // Para cada región, dejar visibles solo 2 celdas aleatorias
+        for (int region = 0; region < size; region++) {
+            List<Integer> cells = new ArrayList<>();
+            for (int cell : model.regionCells(region)) cells.add(cell);
 
-                for (int r = 0; r < blockRows; r++) {
-                    for (int c = 0; c < blockCols; c++) {
-                        cells.add(new int[]{br + r, bc + c});
-                    }
-                }
-
-                Collections.shuffle(cells, random);
-                for (int i = 2; i < cells.size(); i++) { // deja solo 2 visibles
-                    int[] cell = cells.get(i);
-                    puzzle[cell[0]][cell[1]] = 0;
-                }
+            Collections.shuffle(cells, random);
+            for (int i = 2; i < cells.size(); i++) { // deja solo 2 visibles
+                int cell = cells.get(i);
+                puzzle[cell / size][cell % size] = 0;
             }
         }
 
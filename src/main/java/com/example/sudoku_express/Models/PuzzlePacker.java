@@ -0,0 +1,47 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Empaqueta un tablero en el mínimo de bits por celda (3 bits en 6x6, 5 en 16x16),
+ * en orden fila * size + columna. Se usa para enviar tableros por red.
+ */
+public class PuzzlePacker {
+
+    private PuzzlePacker() {
+    }
+
+    /** Bits necesarios para guardar valores de 0 a size. */
+    public static int bitsPerCell(int size) {
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    public static byte[] pack(int[][] grid) {
+        int size = grid.length;
+        int bits = bitsPerCell(size);
+        byte[] out = new byte[(size * size * bits + 7) / 8];
+        int pos = 0;
+        for (int[] row : grid) {
+            for (int value : row) {
+                for (int b = 0; b < bits; b++, pos++) {
+                    if ((value & (1 << b)) != 0) out[pos >>> 3] |= (byte) (1 << (pos & 7));
+                }
+            }
+        }
+        return out;
+    }
+
+    public static int[][] unpack(byte[] data, int size) {
+        int bits = bitsPerCell(size);
+        int[][] grid = new int[size][size];
+        int pos = 0;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int value = 0;
+                for (int b = 0; b < bits; b++, pos++) {
+                    if ((data[pos >>> 3] & (1 << (pos & 7))) != 0) value |= 1 << b;
+                }
+                grid[r][c] = value;
+            }
+        }
+        return grid;
+    }
+}
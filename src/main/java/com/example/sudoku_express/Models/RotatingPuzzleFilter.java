@@ -0,0 +1,88 @@
+package com.example.sudoku_express.Models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Registro de tableros servidos que no se degrada con el uso: dos {@link PuzzleBloomFilter}
+ * por generaciones. Se consulta en ambos y se inserta solo en el actual; cuando el actual se
+ * llena, pasa a ser el anterior (se descarta el que había) y se empieza uno vacío.
+ *
+ * Así siempre se recuerdan al menos los últimos {@code expectedItems} tableros (y como mucho
+ * el doble) con una tasa de falsos positivos de a lo sumo el doble de la de diseño, sin importar
+ * cuántos millones se hayan servido. El filtro anterior se guarda junto al actual con sufijo ".old".
+ */
+public class RotatingPuzzleFilter implements Closeable {
+
+    private final Path currentFile;
+    private final Path previousFile;
+    private final long expectedItems;
+    private final double falsePositiveRate;
+
+    private PuzzleBloomFilter current;
+    private PuzzleBloomFilter previous; // null si todavía no hubo ninguna rotación
+    private int rotations;
+
+    private RotatingPuzzleFilter(Path currentFile, long expectedItems, double falsePositiveRate) {
+        this.currentFile = currentFile;
+        this.previousFile = currentFile.resolveSibling(currentFile.getFileName() + ".old");
+        this.expectedItems = expectedItems;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Abre (o crea) el registro en un archivo.
+     *
+     * @param expectedItems tableros por generación
+     */
+    public static RotatingPuzzleFilter open(Path file, long expectedItems, double falsePositiveRate) throws IOException {
+        RotatingPuzzleFilter filter = new RotatingPuzzleFilter(file, expectedItems, falsePositiveRate);
+        filter.current = PuzzleBloomFilter.open(file, expectedItems, falsePositiveRate);
+        if (Files.exists(filter.previousFile)) {
+            filter.previous = PuzzleBloomFilter.open(filter.previousFile, expectedItems, falsePositiveRate);
+        }
+        if (filter.current.isFull()) filter.rotate(); // p. ej. se llenó justo antes de cerrar
+        return filter;
+    }
+
+    /** Indica si la clave pudo haberse insertado en esta generación o en la anterior. */
+    public synchronized boolean mightContain(byte[] key) {
+        return current.mightContain(key) || (previous != null && previous.mightContain(key));
+    }
+
+    /** Inserta la clave en la generación actual y rota si se llenó. Devuelve true si era nueva. */
+    public synchronized boolean put(byte[] key) throws IOException {
+        boolean changed = current.put(key);
+        if (current.isFull()) rotate();
+        return changed;
+    }
+
+    private void rotate() throws IOException {
+        long served = current.approximateCount();
+        current.close();
+        Files.move(currentFile, previousFile, StandardCopyOption.REPLACE_EXISTING);
+        previous = PuzzleBloomFilter.open(previousFile, expectedItems, falsePositiveRate);
+        current = PuzzleBloomFilter.open(currentFile, expectedItems, falsePositiveRate);
+        rotations++;
+        System.out.println("ℹ️ Registro de tableros servidos lleno (~" + served
+                + " tableros): se empieza una generación nueva y se olvida la anterior a esa");
+    }
+
+    /** Cuántas veces rotó desde que se abrió. */
+    public synchronized int getRotations() {
+        return rotations;
+    }
+
+    public synchronized void flush() throws IOException {
+        current.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        current.close();
+        if (previous != null) previous.close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.sudoku_express.Models;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describe la geometría y las reglas de una variante de Sudoku.
+ * Es inmutable: cada método "with" devuelve una copia con la regla añadida.
+ * No valida nada por sí misma; {@link ConstraintModel#compile(RuleSet)} la convierte
+ * en tablas precalculadas que son las que usan el generador, el validador y las pistas.
+ * Es serializable para que los checkpoints del solver guarden las reglas completas.
+ */
+public class RuleSet implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int PARITY_NONE = 0;
+    public static final int PARITY_ODD = 1;
+    public static final int PARITY_EVEN = 2;
+
+    private final int size;
+    private final int blockRows;
+    private final int blockCols;
+    private final boolean diagonals;  // Sudoku X: ambas diagonales sin repetir
+    private final int[] regions;      // Jigsaw: región de cada celda (null = bloques rectangulares)
+    private final int[] parity;       // par/impar por celda (null = sin restricción)
+    private final List<Cage> cages;   // Killer: jaulas con suma
+    private final int hash;
+
+    private RuleSet(int size, int blockRows, int blockCols, boolean diagonals,
+                    int[] regions, int[] parity, List<Cage> cages) {
+        this.size = size;
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        this.diagonals = diagonals;
+        this.regions = regions;
+        this.parity = parity;
+        this.cages = cages;
+
+        int h = size;
+        h = 31 * h + blockRows;
+        h = 31 * h + blockCols;
+        h = 31 * h + (diagonals ? 1 : 0);
+        h = 31 * h + Arrays.hashCode(regions);
+        h = 31 * h + Arrays.hashCode(parity);
+        h = 31 * h + cages.hashCode();
+        this.hash = h;
+    }
+
+    /** Sudoku clásico: filas, columnas y bloques de blockRows x blockCols. */
+    public static RuleSet standard(int size, int blockRows, int blockCols) {
+        if (blockRows * blockCols != size) {
+            throw new IllegalArgumentException("Los bloques deben tener exactamente " + size + " celdas");
+        }
+        return new RuleSet(size, blockRows, blockCols, false, null, null, Collections.emptyList());
+    }
+
+    /** Añade las dos diagonales principales como casas (Sudoku X). */
+    public RuleSet withDiagonals() {
+        return new RuleSet(size, blockRows, blockCols, true, regions, parity, cages);
+    }
+
+    /**
+     * Sustituye los bloques rectangulares por regiones irregulares (Jigsaw).
+     * @param regionOfCell región (0..size-1) de cada celda, en orden fila * size + columna
+     */
+    public RuleSet withRegions(int[] regionOfCell) {
+        if (regionOfCell.length != size * size) {
+            throw new IllegalArgumentException("Se esperaban " + size * size + " celdas");
+        }
+        int[] counts = new int[size];
+        for (int region : regionOfCell) {
+            if (region < 0 || region >= size) {
+                throw new IllegalArgumentException("Región fuera de rango (0.." + (size - 1) + "): " + region);
+            }
+            counts[region]++;
+        }
+        for (int count : counts) {
+            if (count != size) throw new IllegalArgumentException("Cada región debe tener " + size + " celdas");
+        }
+        return new RuleSet(size, blockRows, blockCols, diagonals, regionOfCell.clone(), parity, cages);
+    }
+
+    /**
+     * Restringe celdas a valores pares o impares.
+     * @param parityOfCell PARITY_NONE, PARITY_ODD o PARITY_EVEN por celda
+     */
+    public RuleSet withParity(int[] parityOfCell) {
+        if (parityOfCell.length != size * size) {
+            throw new IllegalArgumentException("Se esperaban " + size * size + " celdas");
+        }
+        return new RuleSet(size, blockRows, blockCols, diagonals, regions, parityOfCell.clone(), cages);
+    }
+
+    /** Añade una jaula Killer (celdas sin repetir que suman {@code sum}). */
+    public RuleSet withCage(int sum, int... cells) {
+        for (int cell : cells) {
+            if (cell < 0 || cell >= size * size) {
+                throw new IllegalArgumentException("Celda de jaula fuera del tablero: " + cell);
+            }
+        }
+        List<Cage> list = new ArrayList<>(cages);
+        list.add(new Cage(sum, cells));
+        return new RuleSet(size, blockRows, blockCols, diagonals, regions, parity, Collections.unmodifiableList(list));
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    public int getBlockCols() {
+        return blockCols;
+    }
+
+    public boolean hasDiagonals() {
+        return diagonals;
+    }
+
+    /** Región de cada celda, o null si se usan bloques rectangulares. */
+    int[] regions() {
+        return regions;
+    }
+
+    /** Paridad de cada celda, o null si no hay restricción. */
+    int[] parity() {
+        return parity;
+    }
+
+    public List<Cage> getCages() {
+        return cages;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RuleSet other)) return false;
+        return hash == other.hash
+                && size == other.size
+                && blockRows == other.blockRows
+                && blockCols == other.blockCols
+                && diagonals == other.diagonals
+                && Arrays.equals(regions, other.regions)
+                && Arrays.equals(parity, other.parity)
+                && cages.equals(other.cages);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
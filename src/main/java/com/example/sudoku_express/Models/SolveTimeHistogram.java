@@ -0,0 +1,143 @@
+package com.example.sudoku_express.Models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Histograma log-lineal de memoria fija (al estilo HdrHistogram) para tiempos en milisegundos.
+ * Cada potencia de 2 se divide en {@code HALF_BUCKET} sub-cubetas, así que el error relativo
+ * de cualquier percentil es menor a 1/HALF_BUCKET (~1.6%) desde 1 ms hasta décadas.
+ *
+ * Dos histogramas se combinan sumando sus cubetas, y un percentil se responde recorriendo
+ * un arreglo fijo: nunca se guardan ni se recorren los tiempos individuales.
+ */
+public class SolveTimeHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HALF_BUCKET = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKETS = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 2) * HALF_BUCKET;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    /** Registra un valor (los negativos cuentan como 0 y los enormes se recortan). */
+    public void record(long value) {
+        long v = Math.max(0, Math.min(value, MAX_VALUE));
+        counts[indexOf(v)]++;
+        totalCount++;
+        sum += v;
+        max = Math.max(max, v);
+    }
+
+    /** Suma otro histograma a este. */
+    public void merge(SolveTimeHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Valor en el percentil pedido (0–100), o 0 si el histograma está vacío.
+     * Devuelve el punto medio de la cubeta, acotado al máximo registrado.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                long low = lowestValueAt(i);
+                long high = lowestValueAt(i + 1) - 1;
+                return Math.min(max, (low + high) / 2);
+            }
+        }
+        return max;
+    }
+
+    /** Índice de cubeta: lineal hasta 2*HALF_BUCKET, luego HALF_BUCKET cubetas por potencia de 2. */
+    private static int indexOf(long value) {
+        if (value < 2 * HALF_BUCKET) return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS + 1;
+        return shift * HALF_BUCKET + (int) (value >>> shift);
+    }
+
+    private static long lowestValueAt(int index) {
+        if (index < 2 * HALF_BUCKET) return index;
+        int shift = index / HALF_BUCKET - 1;
+        long sub = index - (long) shift * HALF_BUCKET;
+        return sub << shift;
+    }
+
+    // ==========================================================
+    //  PERSISTENCIA COMPACTA (solo cubetas no vacías, en varint)
+    // ==========================================================
+
+    public void writeTo(DataOutput out) throws IOException {
+        int nonEmpty = 0;
+        for (long c : counts) if (c != 0) nonEmpty++;
+        writeVarLong(out, nonEmpty);
+        int previous = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            writeVarLong(out, i - previous);
+            writeVarLong(out, counts[i]);
+            previous = i;
+        }
+        writeVarLong(out, sum);
+        writeVarLong(out, max);
+    }
+
+    public static SolveTimeHistogram readFrom(DataInput in) throws IOException {
+        SolveTimeHistogram h = new SolveTimeHistogram();
+        long nonEmpty = readVarLong(in);
+        int index = 0;
+        for (long n = 0; n < nonEmpty; n++) {
+            index += (int) readVarLong(in);
+            if (index < 0 || index >= BUCKETS) throw new IOException("Cubeta fuera de rango: " + index);
+            long count = readVarLong(in);
+            h.counts[index] = count;
+            h.totalCount += count;
+        }
+        h.sum = readVarLong(in);
+        h.max = readVarLong(in);
+        return h;
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.sudoku_express.Models;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estadísticas por jugador y globales, separadas por dificultad.
+ * Registrar una partida actualiza dos acumulados (jugador y global) y las consultas
+ * leen directamente esos acumulados: nunca se recorre el historial de partidas.
+ *
+ * Formato del archivo: int mágico, número de jugadores y, por cada uno, su nombre
+ * y un acumulado por dificultad. Lo global se reconstruye sumando los jugadores al cargar.
+ */
+public class StatsStore {
+
+    private static final int MAGIC = 0x53545431; // "STT1"
+    private static final String STATS_FILE = "stats.bin";
+
+    private final Path file; // null = solo en memoria
+    private final Map<String, EnumMap<Difficulty, DifficultyStats>> players = new HashMap<>();
+    private final EnumMap<Difficulty, DifficultyStats> global = emptyTable();
+
+    private StatsStore(Path file) {
+        this.file = file;
+    }
+
+    /** Abre las estadísticas guardadas en ~/.sudoku_express; si el disco falla, quedan en memoria. */
+    public static StatsStore openDefault() {
+        try {
+            return open(AppFiles.dataFile(STATS_FILE));
+        } catch (IOException e) {
+            System.err.println("❌ No se pudieron cargar las estadísticas: " + e.getMessage());
+            return new StatsStore(null);
+        }
+    }
+
+    /** Carga las estadísticas desde un archivo (vacías si aún no existe). */
+    public static StatsStore open(Path file) throws IOException {
+        StatsStore store = new StatsStore(file);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                store.readFrom(new DataInputStream(new BufferedInputStream(in)));
+            }
+        }
+        return store;
+    }
+
+    /** Registra una partida terminada y guarda el resultado. */
+    public synchronized void record(GameResult result) {
+        players.computeIfAbsent(result.player, p -> emptyTable()).get(result.difficulty).record(result);
+        global.get(result.difficulty).record(result);
+        save();
+    }
+
+    /** Acumulado de un jugador en una dificultad (vacío si nunca jugó). */
+    public synchronized DifficultyStats player(String player, Difficulty difficulty) {
+        EnumMap<Difficulty, DifficultyStats> table = players.get(player);
+        return table == null ? new DifficultyStats() : table.get(difficulty);
+    }
+
+    /** Acumulado global de una dificultad. */
+    public synchronized DifficultyStats global(Difficulty difficulty) {
+        return global.get(difficulty);
+    }
+
+    /** Guarda en un archivo temporal y lo reemplaza, para no dejar un archivo a medias. */
+    private void save() {
+        if (file == null) return;
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+                writeTo(data);
+                data.flush();
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("❌ No se pudieron guardar las estadísticas: " + e.getMessage());
+        }
+    }
+
+    private void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(players.size());
+        for (Map.Entry<String, EnumMap<Difficulty, DifficultyStats>> entry : players.entrySet()) {
+            out.writeUTF(entry.getKey());
+            for (Difficulty d : Difficulty.values()) entry.getValue().get(d).writeTo(out);
+        }
+    }
+
+    private void readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Archivo de estadísticas no reconocido");
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            EnumMap<Difficulty, DifficultyStats> table = new EnumMap<>(Difficulty.class);
+            for (Difficulty d : Difficulty.values()) {
+                DifficultyStats stats = DifficultyStats.readFrom(in);
+                table.put(d, stats);
+                global.get(d).merge(stats);
+            }
+            players.put(name, table);
+        }
+    }
+
+    private static EnumMap<Difficulty, DifficultyStats> emptyTable() {
+        EnumMap<Difficulty, DifficultyStats> table = new EnumMap<>(Difficulty.class);
+        for (Difficulty d : Difficulty.values()) table.put(d, new DifficultyStats());
+        return table;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Solver por backtracking con pila explícita que avanza de a un paso.
+ * Cada paso cambia exactamente una celda (coloca un número o lo borra al retroceder),
+ * así que se puede pausar, avanzar paso a paso o deshacer pasos en cualquier momento
+ * sin bloquear a quien lo llama.
+ *
+ * Los últimos {@code historyLimit} pasos se guardan en un búfer circular para poder retroceder.
+ */
+public class SteppingSolver {
+
+    public enum Status { RUNNING, SOLVED, UNSOLVABLE }
+
+    private static final int RECORD = 4; // profundidad previa, siguiente dígito previo, celda, valor previo
+
+    private final ConstraintModel model;
+    private final int size;
+    private final int[][] grid;
+    private final int[] empties;  // celdas a rellenar, en orden de lectura
+    private final int[] next;     // siguiente dígito a probar en cada nivel de la pila
+    private int depth;
+    private Status status = Status.RUNNING;
+    private long steps;
+
+    private final int[] history;  // búfer circular de pasos para deshacer
+    private final int historyLimit;
+    private int historyStart;
+    private int historySize;
+
+    /**
+     * @param start tablero inicial (se copia; 0 = vacía)
+     * @param historyLimit cuántos pasos se pueden deshacer como máximo
+     */
+    public SteppingSolver(ConstraintModel model, int[][] start, int historyLimit) {
+        this.model = model;
+        this.size = model.getSize();
+        this.grid = new int[size][];
+        int count = 0;
+        for (int r = 0; r < size; r++) {
+            grid[r] = start[r].clone();
+            for (int v : grid[r]) if (v == 0) count++;
+        }
+        empties = new int[count];
+        int n = 0;
+        for (int cell = 0; cell < size * size; cell++) {
+            if (grid[cell / size][cell % size] == 0) empties[n++] = cell;
+        }
+        next = new int[count + 1];
+        java.util.Arrays.fill(next, 1);
+        if (count == 0) status = model.isSolved(grid) ? Status.SOLVED : Status.UNSOLVABLE;
+
+        this.historyLimit = historyLimit;
+        this.history = new int[historyLimit * RECORD];
+    }
+
+    /**
+     * Avanza un paso. Devuelve la celda que cambió (fila * size + columna) o -1 si ya terminó.
+     */
+    public int step() {
+        if (status != Status.RUNNING) return -1;
+
+        int cell = empties[depth];
+        int r = cell / size, c = cell % size;
+        for (int d = next[depth]; d <= size; d++) {
+            if (model.canPlace(grid, r, c, d)) {
+                // 🔹 Colocar y bajar un nivel
+                remember(depth, next[depth], cell, 0);
+                grid[r][c] = d;
+                next[depth] = d + 1;
+                depth++;
+                steps++;
+                if (depth == empties.length) status = Status.SOLVED;
+                return cell;
+            }
+        }
+
+        // 🔹 Sin opciones: subir un nivel y borrar la celda de ese nivel
+        if (depth == 0) {
+            status = Status.UNSOLVABLE;
+            return -1;
+        }
+        int previous = empties[depth - 1];
+        int pr = previous / size, pc = previous % size;
+        remember(depth, next[depth], previous, grid[pr][pc]);
+        next[depth] = 1;
+        depth--;
+        grid[pr][pc] = 0;
+        steps++;
+        return previous;
+    }
+
+    /**
+     * Deshace el último paso. Devuelve la celda que cambió o -1 si no queda historial.
+     */
+    public int rewind() {
+        if (historySize == 0) return -1;
+        historySize--;
+        int base = ((historyStart + historySize) % historyLimit) * RECORD;
+        int depthBefore = history[base];
+        int nextBefore = history[base + 1];
+        int cell = history[base + 2];
+        int valueBefore = history[base + 3];
+
+        depth = depthBefore;
+        next[depthBefore] = nextBefore;
+        grid[cell / size][cell % size] = valueBefore;
+        status = Status.RUNNING;
+        steps--;
+        return cell;
+    }
+
+    private void remember(int depthBefore, int nextBefore, int cell, int valueBefore) {
+        if (historyLimit == 0) return;
+        int slot;
+        if (historySize < historyLimit) {
+            slot = (historyStart + historySize) % historyLimit;
+            historySize++;
+        } else {
+            slot = historyStart; // se pierde el paso más antiguo
+            historyStart = (historyStart + 1) % historyLimit;
+        }
+        int base = slot * RECORD;
+        history[base] = depthBefore;
+        history[base + 1] = nextBefore;
+        history[base + 2] = cell;
+        history[base + 3] = valueBefore;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /** Pasos netos dados (los deshechos se descuentan). */
+    public long getSteps() {
+        return steps;
+    }
+
+    /** Profundidad actual de la pila de búsqueda. */
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getValue(int cell) {
+        return grid[cell / size][cell % size];
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.sudoku_express.Models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Torneo de exhibición: N partidas jugadas por bots en segundo plano.
+ * Las partidas se reparten entre unos pocos hilos (cada partida la escribe siempre el mismo hilo)
+ * y cada bot juega a su propio ritmo, con algún error que luego borra. Al terminar un tablero
+ * se empieza otro derivado de las semillas, así que el torneo nunca se queda quieto.
+ *
+ * Los cambios llegan a la vista por {@link #getDirtyQueue()}.
+ */
+public class TournamentSimulator {
+
+    private static final long TICK_MILLIS = 10;
+    private static final double ERROR_RATE = 0.08;
+
+    private final List<BoardSession> sessions = new ArrayList<>();
+    private final Queue<BoardSession> dirtyQueue = new ConcurrentLinkedQueue<>();
+    private final PuzzleDeriver deriver = PuzzleDeriver.loadDefault();
+    private final double[] speed;    // jugadas por segundo de cada bot
+    private final double[] pending;  // jugadas acumuladas aún sin hacer
+    private final int threads;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param boards cantidad de partidas
+     * @param movesPerSecond ritmo medio de cada bot (cada uno varía entre la mitad y el doble)
+     */
+    public TournamentSimulator(int boards, double movesPerSecond, int threads) {
+        RuleSet rules = RuleSet.standard(6, 2, 3);
+        this.threads = Math.max(1, threads);
+        this.speed = new double[boards];
+        this.pending = new double[boards];
+        Random random = new Random();
+        for (int i = 0; i < boards; i++) {
+            BoardSession session = new BoardSession(i, "Mesa " + (i + 1), rules, dirtyQueue);
+            session.start(deriver.derive(null));
+            sessions.add(session);
+            speed[i] = movesPerSecond * (0.5 + 1.5 * random.nextDouble());
+        }
+    }
+
+    /** Arranca los bots (hilos demonio: no impiden cerrar la aplicación). */
+    public synchronized void start() {
+        if (executor != null) return;
+        executor = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "torneo-bots");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int t = 0; t < threads; t++) {
+            int shard = t;
+            executor.scheduleAtFixedRate(() -> tick(shard), 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (executor == null) return;
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    /** Avanza las partidas de un hilo: las de índice shard, shard + threads, ... */
+    private void tick(int shard) {
+        Random random = ThreadLocalRandom.current();
+        for (int i = shard; i < sessions.size(); i += threads) {
+            pending[i] += speed[i] * TICK_MILLIS / 1000.0;
+            while (pending[i] >= 1) {
+                pending[i]--;
+                play(sessions.get(i), random);
+            }
+        }
+    }
+
+    /** Una jugada de bot: borra un error, se equivoca a veces o escribe un valor correcto. */
+    private void play(BoardSession session, Random random) {
+        if (session.isSolved()) {
+            session.recordWin();
+            session.start(deriver.derive(null));
+            return;
+        }
+        int cells = session.getSize() * session.getSize();
+        int cell = random.nextInt(cells);
+        while (session.isFixed(cell) || session.getValue(cell) == session.getSolutionValue(cell)) {
+            cell = (cell + 1) % cells;
+        }
+        if (session.getValue(cell) != 0) {
+            session.set(cell, 0);
+        } else if (random.nextDouble() < ERROR_RATE) {
+            session.set(cell, 1 + random.nextInt(session.getSize()));
+        } else {
+            session.set(cell, session.getSolutionValue(cell));
+        }
+    }
+
+    public List<BoardSession> getSessions() {
+        return Collections.unmodifiableList(sessions);
+    }
+
+    public Queue<BoardSession> getDirtyQueue() {
+        return dirtyQueue;
+    }
+}
@@ -2,24 +2,33 @@ package com.example.sudoku_express.Models;
 
 public class Validator {
 
+    private ConstraintModel standardModel; // último modelo clásico usado por la sobrecarga antigua
+
+    /**
+     * Valida una jugada con las reglas clásicas (fila, columna y bloque).
+     * La celda destino se ignora: un número ya escrito en ella no cuenta como repetido,
+     * así que se puede volver a validar el valor actual de una celda.
+     *
+     * @deprecated usar {@link #isValidPlacement(ConstraintModel, int, int, int, int[][])}
+     *             con el modelo del tablero ({@link Board#getModel()}).
+     */
+    @Deprecated
     public boolean isValidPlacement(int row, int col, int num, int[][] board,int SUB_ROWS,int SUB_COLS) {
-        // Validar fila y columna
-        for (int i = 0; i < 6; i++) {
-            if (board[row][i] == num || board[i][col] == num) {
-                return false;
-            }
+        ConstraintModel model = standardModel;
+        RuleSet rules = model == null ? null : model.getRules();
+        if (rules == null || rules.getSize() != board.length
+                || rules.getBlockRows() != SUB_ROWS || rules.getBlockCols() != SUB_COLS) {
+            model = ConstraintModel.compile(RuleSet.standard(board.length, SUB_ROWS, SUB_COLS));
+            standardModel = model;
         }
+        return isValidPlacement(model, row, col, num, board);
+    }
 
-        // Validar bloque 2x3
-        int startRow = (row / SUB_ROWS) * SUB_ROWS;
-        int startCol = (col / SUB_COLS) * SUB_COLS;
-        for (int r = startRow; r < startRow + SUB_ROWS; r++) {
-            for (int c = startCol; c < startCol + SUB_COLS; c++) {
-                if (board[r][c] == num) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    /**
+     * Valida una jugada contra cualquier variante compilada (Sudoku X, Jigsaw, par/impar, Killer).
+     * El valor que ya tenga la celda destino se ignora (ver {@link ConstraintModel#canPlace}).
+     */
+    public boolean isValidPlacement(ConstraintModel model, int row, int col, int num, int[][] board) {
+        return model.canPlace(board, row, col, num);
     }
 }
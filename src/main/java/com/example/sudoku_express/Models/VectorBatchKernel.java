@@ -0,0 +1,40 @@
+package com.example.sudoku_express.Models;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Núcleo de {@link BatchValidator} con la Vector API: cada carril es un tablero distinto.
+ * Solo se carga si el módulo jdk.incubator.vector está presente.
+ */
+final class VectorBatchKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorBatchKernel() {
+    }
+
+    static void validate(int[] cells, int capacity, int count, int[][] houses, int fullMask, boolean[] valid) {
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        IntVector full = IntVector.broadcast(SPECIES, fullMask);
+        int bound = SPECIES.loopBound(count);
+
+        for (int b = 0; b < bound; b += SPECIES.length()) {
+            VectorMask<Integer> ok = SPECIES.maskAll(true);
+            for (int[] house : houses) {
+                IntVector acc = IntVector.zero(SPECIES);
+                for (int cell : house) {
+                    IntVector values = IntVector.fromArray(SPECIES, cells, cell * capacity + b);
+                    acc = acc.or(one.lanewise(VectorOperators.LSHL, values));
+                }
+                ok = ok.and(acc.compare(VectorOperators.EQ, full));
+            }
+            ok.intoArray(valid, b);
+        }
+
+        // Tableros sobrantes que no llenan un vector completo
+        if (bound < count) BatchValidator.validateScalar(cells, capacity, bound, count, houses, fullMask, valid);
+    }
+}
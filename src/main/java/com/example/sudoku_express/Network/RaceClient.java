@@ -0,0 +1,168 @@
+package com.example.sudoku_express.Network;
+
+import com.example.sudoku_express.Models.Board;
+import com.example.sudoku_express.Models.CellChangeListener;
+import com.example.sudoku_express.Models.PuzzlePacker;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cliente del modo carrera. Envía las jugadas propias como mensajes PLACE de 4 bytes
+ * y entrega al {@link Listener} el tablero inicial y las jugadas de los rivales.
+ * La lectura corre en un hilo propio y los envíos en otro (sendMove nunca bloquea al que
+ * llama, p. ej. el hilo de JavaFX); los avisos al Listener llegan desde esos hilos.
+ */
+public class RaceClient implements Closeable {
+
+    /** Eventos recibidos del servidor. */
+    public interface Listener {
+        void onWelcome(int playerId, int size, int blockRows, int blockCols, int[][] puzzle);
+
+        void onMove(int playerId, int row, int col, int value);
+
+        void onFinish(int playerId, int place);
+
+        /** La conexión se cortó o falló (no se avisa si la cerró el propio cliente). Llega una sola vez. */
+        void onDisconnected(IOException cause);
+    }
+
+    private final SocketChannel channel;
+    private final Listener listener;
+    private final ByteBuffer out = ByteBuffer.allocate(RaceProtocol.PLACE_BYTES); // solo lo usa el hilo escritor
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "race-client-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean disconnected = new AtomicBoolean();
+    private volatile int size;
+
+    private RaceClient(SocketChannel channel, Listener listener) {
+        this.channel = channel;
+        this.listener = listener;
+    }
+
+    /** Se conecta al servidor y empieza a escuchar en segundo plano. */
+    public static RaceClient connect(String host, int port, Listener listener) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        RaceClient client = new RaceClient(channel, listener);
+        Thread reader = new Thread(client::readLoop, "race-client");
+        reader.setDaemon(true);
+        reader.start();
+        return client;
+    }
+
+    /**
+     * Encola una jugada propia (value = 0 para borrar); se envía en el hilo escritor, en orden.
+     * Si el envío falla, la conexión se cierra y se avisa con {@link Listener#onDisconnected}.
+     */
+    public void sendMove(int row, int col, int value) {
+        if (size == 0) throw new IllegalStateException("Aún no se recibió el tablero");
+        if (disconnected.get()) return;
+        int cell = row * size + col;
+        writer.execute(() -> {
+            try {
+                out.clear();
+                out.put(RaceProtocol.PLACE).putShort((short) cell).put((byte) value).flip();
+                while (out.hasRemaining()) channel.write(out);
+            } catch (IOException e) {
+                disconnect(e);
+            }
+        });
+    }
+
+    /**
+     * Envía automáticamente cada cambio que el jugador haga en el tablero.
+     * Devuelve el observador registrado para poder quitarlo con removeCellListener.
+     */
+    public CellChangeListener attach(Board board) {
+        CellChangeListener forward = this::sendMove;
+        board.addCellListener(forward);
+        return forward;
+    }
+
+    @Override
+    public void close() throws IOException {
+        disconnected.set(true); // cierre pedido: no es una desconexión que haya que avisar
+        writer.shutdownNow();
+        channel.close();
+    }
+
+    /** Cierra por un error de red y avisa al Listener (solo la primera vez). */
+    private void disconnect(IOException cause) {
+        if (!disconnected.compareAndSet(false, true)) return;
+        writer.shutdownNow();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // ya estaba cerrada
+        }
+        listener.onDisconnected(cause);
+    }
+
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+        try {
+            while (true) {
+                if (channel.read(in) < 0) throw new EOFException();
+                in.flip();
+                while (dispatch(in)) {
+                    // procesar todos los mensajes completos del búfer
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            disconnect(e instanceof EOFException ? new EOFException("El servidor cerró la conexión") : e);
+        }
+    }
+
+    /** Procesa un mensaje si está completo; si no, deja el búfer como estaba y devuelve false. */
+    private boolean dispatch(ByteBuffer in) throws IOException {
+        if (!in.hasRemaining()) return false;
+        int start = in.position();
+        byte type = in.get(start);
+        switch (type) {
+            case RaceProtocol.WELCOME -> {
+                if (in.remaining() < RaceProtocol.WELCOME_HEADER_BYTES) return false;
+                int length = in.getShort(start + 6) & 0xFFFF;
+                if (in.remaining() < RaceProtocol.WELCOME_HEADER_BYTES + length) return false;
+                in.get();
+                int playerId = in.getShort() & 0xFFFF;
+                int boardSize = in.get() & 0xFF;
+                int blockRows = in.get() & 0xFF;
+                int blockCols = in.get() & 0xFF;
+                in.getShort();
+                byte[] packed = new byte[length];
+                in.get(packed);
+                size = boardSize;
+                listener.onWelcome(playerId, boardSize, blockRows, blockCols, PuzzlePacker.unpack(packed, boardSize));
+            }
+            case RaceProtocol.MOVE -> {
+                if (in.remaining() < RaceProtocol.MOVE_BYTES) return false;
+                in.get();
+                int playerId = in.getShort() & 0xFFFF;
+                int cell = in.getShort() & 0xFFFF;
+                int value = in.get() & 0xFF;
+                listener.onMove(playerId, cell / size, cell % size, value);
+            }
+            case RaceProtocol.FINISH -> {
+                if (in.remaining() < RaceProtocol.FINISH_BYTES) return false;
+                in.get();
+                int playerId = in.getShort() & 0xFFFF;
+                int place = in.getShort() & 0xFFFF;
+                listener.onFinish(playerId, place);
+            }
+            default -> throw new IOException("Mensaje desconocido: " + type);
+        }
+        return true;
+    }
+}
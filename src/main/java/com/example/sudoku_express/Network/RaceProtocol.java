@@ -0,0 +1,29 @@
+package com.example.sudoku_express.Network;
+
+/**
+ * Mensajes binarios del modo carrera. Todos son de tamaño fijo salvo WELCOME,
+ * así que no hace falta prefijo de longitud: el primer byte dice cuánto leer.
+ *
+ * Servidor → jugador:
+ *  - WELCOME: tipo, id (u16), tamaño, filas y columnas de bloque (u8), longitud (u16) y tablero empaquetado
+ *  - MOVE:    tipo, id del jugador (u16), celda (u16), valor (u8)  → 6 bytes por jugada
+ *  - FINISH:  tipo, id del jugador (u16), puesto (u16)             → 5 bytes
+ *
+ * Jugador → servidor:
+ *  - PLACE:   tipo, celda (u16), valor (u8)                        → 4 bytes por jugada
+ */
+public final class RaceProtocol {
+
+    public static final byte WELCOME = 0x01;
+    public static final byte MOVE = 0x02;
+    public static final byte FINISH = 0x03;
+    public static final byte PLACE = 0x10;
+
+    public static final int WELCOME_HEADER_BYTES = 8;
+    public static final int MOVE_BYTES = 6;
+    public static final int FINISH_BYTES = 5;
+    public static final int PLACE_BYTES = 4;
+
+    private RaceProtocol() {
+    }
+}
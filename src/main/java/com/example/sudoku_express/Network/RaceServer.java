@@ -0,0 +1,248 @@
+package com.example.sudoku_express.Network;
+
+import com.example.sudoku_express.Models.ConstraintModel;
+import com.example.sudoku_express.Models.PuzzlePacker;
+import com.example.sudoku_express.Models.RuleSet;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servidor del modo carrera: todos los jugadores reciben el mismo tablero empaquetado
+ * y cada jugada se reenvía a los demás como un mensaje MOVE de 6 bytes.
+ *
+ * Un solo hilo atiende todas las conexiones con un Selector de NIO. Las difusiones se
+ * acumulan en el búfer de salida de cada jugador y se escriben una vez por vuelta del
+ * Selector, así varias jugadas viajan en la misma escritura.
+ */
+public class RaceServer implements Runnable {
+
+    private static final int MAX_PENDING_BYTES = 1 << 20; // jugador que no lee: se desconecta
+
+    private final ConstraintModel model;
+    private final int[][] puzzle;
+    private final byte[] welcomeBody;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+
+    private final List<Player> players = new ArrayList<>();
+    private final Set<Player> dirty = new LinkedHashSet<>();
+    private int nextPlayerId;
+    private int finishedCount;
+    private volatile boolean running = true;
+
+    /** Un jugador conectado y su progreso en la carrera. */
+    private static final class Player {
+        final int id;
+        final SocketChannel channel;
+        final SelectionKey key;
+        final int[][] grid;
+        final ByteBuffer in = ByteBuffer.allocate(256);
+        ByteBuffer out = ByteBuffer.allocate(1024);
+        int filled;
+        boolean finished;
+
+        Player(int id, SocketChannel channel, SelectionKey key, int[][] grid, int filled) {
+            this.id = id;
+            this.channel = channel;
+            this.key = key;
+            this.grid = grid;
+            this.filled = filled;
+        }
+    }
+
+    /**
+     * Abre el servidor en el puerto indicado (0 = puerto libre cualquiera).
+     * @param rules geometría del tablero
+     * @param packedPuzzle tablero empaquetado con {@link PuzzlePacker} (p. ej. Board.packPuzzle())
+     */
+    public RaceServer(int port, RuleSet rules, byte[] packedPuzzle) throws IOException {
+        this.model = ConstraintModel.compile(rules);
+        this.puzzle = PuzzlePacker.unpack(packedPuzzle, rules.getSize());
+
+        ByteBuffer body = ByteBuffer.allocate(5 + packedPuzzle.length);
+        body.put((byte) rules.getSize()).put((byte) rules.getBlockRows()).put((byte) rules.getBlockCols());
+        body.putShort((short) packedPuzzle.length).put(packedPuzzle);
+        this.welcomeBody = body.array();
+
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /** Puerto real en el que escucha el servidor. */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /** Arranca el servidor en un hilo propio. */
+    public Thread start() {
+        Thread thread = new Thread(this, "race-server");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /** Detiene el bucle del Selector y cierra todas las conexiones. */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    try {
+                        if (key.isAcceptable()) accept();
+                        else {
+                            if (key.isReadable()) read((Player) key.attachment());
+                            if (key.isValid() && key.isWritable()) dirty.add((Player) key.attachment());
+                        }
+                    } catch (IOException e) {
+                        disconnect((Player) key.attachment());
+                    }
+                }
+                flushAll();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error en el servidor de carrera: " + e.getMessage());
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+
+            int size = puzzle.length;
+            int[][] grid = new int[size][];
+            int filled = 0;
+            for (int r = 0; r < size; r++) {
+                grid[r] = puzzle[r].clone();
+                for (int v : grid[r]) if (v != 0) filled++;
+            }
+            Player player = new Player(nextPlayerId++, channel, key, grid, filled);
+            key.attach(player);
+            players.add(player);
+
+            ByteBuffer out = reserve(player, 3 + welcomeBody.length);
+            out.put(RaceProtocol.WELCOME).putShort((short) player.id).put(welcomeBody);
+        }
+    }
+
+    private void read(Player player) throws IOException {
+        ByteBuffer in = player.in;
+        if (player.channel.read(in) < 0) throw new IOException("Conexión cerrada");
+        in.flip();
+        while (in.remaining() >= RaceProtocol.PLACE_BYTES) {
+            if (in.get(in.position()) != RaceProtocol.PLACE) throw new IOException("Mensaje desconocido");
+            in.get();
+            int cell = in.getShort() & 0xFFFF;
+            int value = in.get() & 0xFF;
+            applyMove(player, cell, value);
+        }
+        in.compact();
+    }
+
+    /** Aplica la jugada, la difunde a los rivales y comprueba si el jugador terminó. */
+    private void applyMove(Player player, int cell, int value) {
+        int size = puzzle.length;
+        if (player.finished || cell >= size * size || value > size) return;
+        int r = cell / size, c = cell % size;
+        if (puzzle[r][c] != 0 || player.grid[r][c] == value) return;
+
+        if (player.grid[r][c] == 0) player.filled++;
+        if (value == 0) player.filled--;
+        player.grid[r][c] = value;
+
+        for (Player other : players) {
+            if (other == player) continue;
+            ByteBuffer out = reserve(other, RaceProtocol.MOVE_BYTES);
+            out.put(RaceProtocol.MOVE).putShort((short) player.id).putShort((short) cell).put((byte) value);
+        }
+
+        if (player.filled == size * size && model.isSolved(player.grid)) {
+            player.finished = true;
+            int place = ++finishedCount;
+            for (Player other : players) {
+                ByteBuffer out = reserve(other, RaceProtocol.FINISH_BYTES);
+                out.put(RaceProtocol.FINISH).putShort((short) player.id).putShort((short) place);
+            }
+        }
+    }
+
+    /** Reserva espacio en el búfer de salida del jugador y lo marca para escribir en esta vuelta. */
+    private ByteBuffer reserve(Player player, int bytes) {
+        if (player.out.remaining() < bytes) {
+            int needed = player.out.position() + bytes;
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(needed, player.out.capacity() * 2));
+            player.out.flip();
+            bigger.put(player.out);
+            player.out = bigger;
+        }
+        dirty.add(player);
+        return player.out;
+    }
+
+    /** Escribe lo pendiente; si el socket no acepta todo, se espera a OP_WRITE. */
+    private void flushAll() {
+        for (Player player : dirty) {
+            if (!player.key.isValid()) continue;
+            try {
+                player.out.flip();
+                player.channel.write(player.out);
+                player.out.compact();
+                boolean pending = player.out.position() > 0;
+                if (player.out.position() > MAX_PENDING_BYTES) throw new IOException("Jugador demasiado lento");
+                player.key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            } catch (IOException e) {
+                disconnect(player);
+            }
+        }
+        dirty.clear();
+    }
+
+    private void disconnect(Player player) {
+        if (player == null) return;
+        player.key.cancel();
+        players.remove(player);
+        try {
+            player.channel.close();
+        } catch (IOException ignored) {
+            // ya estaba cerrado
+        }
+    }
+
+    private void closeAll() {
+        for (Player player : new ArrayList<>(players)) disconnect(player);
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException ignored) {
+            // cierre final
+        }
+    }
+}
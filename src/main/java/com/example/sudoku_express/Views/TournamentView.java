@@ -0,0 +1,38 @@
+package com.example.sudoku_express.Views;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * TournamentView:
+ * Carga y muestra la vista de torneo (muchos tableros en vivo) en pantalla completa.
+ * El dibujo y los bots los gestiona TournamentController.
+ */
+public class TournamentView {
+
+    /**
+     * Carga y muestra la vista del torneo en el Stage recibido.
+     *
+     * @param stage Stage principal o ventana actual donde se debe mostrar la vista.
+     */
+    public void show(Stage stage) {
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/sudoku_express/TournamentView.fxml"));
+            Parent root = loader.load();
+
+            Scene scene = new Scene(root);
+            stage.setScene(scene);
+
+            stage.setTitle("Sudoku 6x6 - Torneo");
+            stage.setFullScreen(true);        // 🔹 Pantalla completa
+            stage.setFullScreenExitHint("");  // 🔹 Sin texto “Presione ESC...”
+            stage.show();
+
+        } catch (Exception e) {
+            System.err.println("❌ Error al cargar TournamentView.fxml: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
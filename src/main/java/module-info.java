@@ -1,6 +1,8 @@
 module com.example.sudoku_express {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.desktop;
+    requires static jdk.incubator.vector;
     opens com.example.sudoku_express.Controllers to javafx.fxml;
 
 
@@ -0,0 +1,68 @@
+package com.example.sudoku_express.Models;
+
+/**
+ * Compara tableros validados por segundo entre el camino actual (un tablero int[][] a la vez
+ * con {@link ConstraintModel#isSolved(int[][])}) y el {@link BatchValidator} escalar y vectorial.
+ *
+ * Uso (desde las clases de prueba): BatchValidatorBenchmark [tableros=1000000] [tamaño=6]
+ * Para el camino vectorial: java --add-modules jdk.incubator.vector ...
+ */
+public class BatchValidatorBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        int blockRows = (int) Math.sqrt(size);
+        while (size % blockRows != 0) blockRows--;
+        ConstraintModel model = ConstraintModel.compile(RuleSet.standard(size, blockRows, size / blockRows));
+
+        // 🔹 Tableros de prueba: soluciones reales, una de cada cuatro con un error
+        PuzzleGenerator generator = new PuzzleGenerator();
+        int distinct = 256;
+        int[][][] samples = new int[distinct][][];
+        for (int i = 0; i < distinct; i++) {
+            samples[i] = generator.generateFullSolution(model);
+            if (i % 4 == 0) samples[i][i % size][(i / size) % size] = samples[i][i % size][(i / size) % size] % size + 1;
+        }
+        int[][][] grids = new int[boards][][];
+        BoardBatch batch = new BoardBatch(size, boards);
+        for (int b = 0; b < boards; b++) {
+            grids[b] = samples[b % distinct];
+            batch.add(grids[b]);
+        }
+        boolean[] valid = new boolean[boards];
+
+        System.out.printf("%d tableros de %dx%d, Vector API disponible: %s%n", boards, size, size, BatchValidator.isVectorAvailable());
+
+        report("Actual (int[][] uno a uno)", boards, () -> {
+            int ok = 0;
+            for (int[][] grid : grids) if (model.isSolved(grid)) ok++;
+            return ok;
+        });
+        BatchValidator scalar = new BatchValidator(model, false);
+        report("Lote escalar", boards, () -> scalar.validate(batch, valid));
+        if (BatchValidator.isVectorAvailable()) {
+            BatchValidator vector = new BatchValidator(model, true);
+            report("Lote Vector API", boards, () -> vector.validate(batch, valid));
+        }
+    }
+
+    private interface Run {
+        int run();
+    }
+
+    private static void report(String name, int boards, Run run) {
+        run.run(); // calentamiento del JIT
+        run.run();
+        long best = Long.MAX_VALUE;
+        int ok = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            ok = run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %,15.0f tableros/s  (válidos: %d)%n", name, boards * 1e9 / best, ok);
+    }
+}
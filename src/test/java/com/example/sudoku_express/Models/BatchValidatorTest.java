@@ -0,0 +1,98 @@
+package com.example.sudoku_express.Models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchValidatorTest {
+
+    /** Soluciones reales (de un grupo pequeño, generar es lo caro); una de cada tres con un valor cambiado. */
+    private static BoardBatch sampleBatch(ConstraintModel model, int boards, long seed) {
+        int size = model.getSize();
+        Random random = new Random(seed);
+        PuzzleGenerator generator = new PuzzleGenerator();
+        int[][][] pool = new int[Math.min(boards, 16)][][];
+        for (int i = 0; i < pool.length; i++) pool[i] = generator.generateFullSolution(model);
+        BoardBatch batch = new BoardBatch(size, boards);
+        for (int b = 0; b < boards; b++) {
+            int[][] grid = new int[size][];
+            for (int r = 0; r < size; r++) grid[r] = pool[b % pool.length][r].clone();
+            if (b % 3 == 0) {
+                int r = random.nextInt(size), c = random.nextInt(size);
+                grid[r][c] = b % 2 == 0 ? grid[r][c] % size + 1 : 0;
+            }
+            batch.add(grid);
+        }
+        return batch;
+    }
+
+    private static boolean[] expected(ConstraintModel model, BoardBatch batch) {
+        int size = model.getSize();
+        boolean[] valid = new boolean[batch.getCount()];
+        int[][] grid = new int[size][size];
+        for (int b = 0; b < batch.getCount(); b++) {
+            for (int cell = 0; cell < size * size; cell++) grid[cell / size][cell % size] = batch.get(b, cell);
+            valid[b] = model.isSolved(grid);
+        }
+        return valid;
+    }
+
+    @Test
+    void scalarMatchesIsSolved() {
+        ConstraintModel model = ConstraintModel.compile(RuleSet.standard(6, 2, 3));
+        BoardBatch batch = sampleBatch(model, 301, 1);
+        boolean[] valid = new boolean[batch.getCount()];
+
+        int ok = new BatchValidator(model, false).validate(batch, valid);
+
+        boolean[] expected = expected(model, batch);
+        assertArrayEquals(expected, valid);
+        int expectedOk = 0;
+        for (boolean v : expected) if (v) expectedOk++;
+        assertEquals(expectedOk, ok);
+    }
+
+    @Test
+    void vectorKernelMatchesScalar() {
+        // Cantidades que no llenan el último vector para cubrir también la cola escalar
+        for (int boards : new int[]{1, 7, 64, 1003}) {
+            for (RuleSet rules : new RuleSet[]{RuleSet.standard(6, 2, 3), RuleSet.standard(9, 3, 3).withDiagonals()}) {
+                ConstraintModel model = ConstraintModel.compile(rules);
+                BoardBatch batch = sampleBatch(model, boards, boards);
+                boolean[] scalar = new boolean[boards];
+                boolean[] vector = new boolean[boards];
+
+                BatchValidator vectorValidator = new BatchValidator(model, true);
+                assertTrue(vectorValidator.usesVector(), "las pruebas corren con --add-modules jdk.incubator.vector");
+                int scalarOk = new BatchValidator(model, false).validate(batch, scalar);
+                int vectorOk = vectorValidator.validate(batch, vector);
+
+                assertArrayEquals(scalar, vector, boards + " tableros de " + rules.getSize());
+                assertEquals(scalarOk, vectorOk);
+            }
+        }
+    }
+
+    @Test
+    void parityRulesFallBackToOneByOne() {
+        int[] parity = new int[36];
+        ConstraintModel plain = ConstraintModel.compile(RuleSet.standard(6, 2, 3));
+        int[][] solution = new PuzzleGenerator().generateFullSolution(plain);
+        // La celda 0 exige la paridad contraria a la de la solución: ningún tablero debe pasar
+        parity[0] = solution[0][0] % 2 == 0 ? RuleSet.PARITY_ODD : RuleSet.PARITY_EVEN;
+        ConstraintModel model = ConstraintModel.compile(RuleSet.standard(6, 2, 3).withParity(parity));
+        BoardBatch batch = new BoardBatch(6, 1);
+        batch.add(solution);
+        boolean[] valid = new boolean[1];
+
+        BatchValidator validator = new BatchValidator(model, true);
+        assertFalse(validator.usesVector());
+        assertEquals(0, validator.validate(batch, valid));
+        assertArrayEquals(expected(model, batch), valid);
+    }
+}
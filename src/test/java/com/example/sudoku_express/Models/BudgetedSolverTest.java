@@ -0,0 +1,171 @@
+package com.example.sudoku_express.Models;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BudgetedSolverTest {
+
+    private static final ConstraintModel MODEL_9 = ConstraintModel.compile(RuleSet.standard(9, 3, 3));
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private static int[][] samplePuzzle(ConstraintModel model) {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        return generator.generatePuzzleFromSolution(generator.generateFullSolution(model), model);
+    }
+
+    private static void assertSolves(ConstraintModel model, int[][] puzzle, int[][] solution) {
+        assertTrue(model.isSolved(solution), "la solución no cumple las reglas");
+        for (int r = 0; r < puzzle.length; r++) {
+            for (int c = 0; c < puzzle.length; c++) {
+                if (puzzle[r][c] != 0) assertEquals(puzzle[r][c], solution[r][c], "pista cambiada en " + r + "," + c);
+            }
+        }
+    }
+
+    private static BudgetedSolver.Checkpoint roundTrip(BudgetedSolver.Checkpoint checkpoint) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(checkpoint);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (BudgetedSolver.Checkpoint) in.readObject();
+        }
+    }
+
+    @Test
+    void solvesAndRespectsGivens() {
+        int[][] puzzle = samplePuzzle(MODEL_9);
+        BudgetedSolver solver = new BudgetedSolver(MODEL_9, puzzle);
+        assertEquals(BudgetedSolver.Status.SOLVED, solver.run(NO_LIMIT, NO_LIMIT));
+        assertSolves(MODEL_9, puzzle, solver.getSolution());
+    }
+
+    @Test
+    void contradictoryGivensAreUnsolvable() {
+        int[][] puzzle = new int[9][9];
+        puzzle[0][0] = 5;
+        puzzle[0][8] = 5;
+        BudgetedSolver solver = new BudgetedSolver(MODEL_9, puzzle);
+        assertEquals(BudgetedSolver.Status.UNSOLVABLE, solver.getFinishedStatus());
+        assertEquals(BudgetedSolver.Status.UNSOLVABLE, solver.run(NO_LIMIT, NO_LIMIT));
+    }
+
+    @Test
+    void checkpointChainReachesTheSameSolution() throws Exception {
+        int[][] empty = new int[9][9];
+        BudgetedSolver straight = new BudgetedSolver(MODEL_9, empty);
+        assertEquals(BudgetedSolver.Status.SOLVED, straight.run(NO_LIMIT, NO_LIMIT));
+
+        // Tramos de 3 nodos; entre tramo y tramo el estado pasa por serialización a un solver nuevo
+        BudgetedSolver solver = new BudgetedSolver(MODEL_9, empty);
+        long nodes = 0;
+        int slices = 0;
+        BudgetedSolver.Status status;
+        while ((status = solver.run(3, NO_LIMIT)) == BudgetedSolver.Status.BUDGET_EXHAUSTED) {
+            nodes += solver.getNodes();
+            BudgetedSolver.Checkpoint checkpoint = roundTrip(solver.checkpoint());
+            assertEquals(solver.getDepth(), checkpoint.getDepth());
+            solver = new BudgetedSolver(MODEL_9, checkpoint);
+            slices++;
+        }
+        nodes += solver.getNodes();
+
+        assertEquals(BudgetedSolver.Status.SOLVED, status);
+        assertTrue(slices > 1, "la búsqueda debía cortarse varias veces");
+        assertTrue(Arrays.deepEquals(straight.getSolution(), solver.getSolution()));
+        assertEquals(straight.getNodes(), nodes);
+        assertThrows(IllegalStateException.class, solver::checkpoint);
+    }
+
+    @Test
+    void splitHandsOffADisjointSubtree() {
+        ConstraintModel model = ConstraintModel.compile(RuleSet.standard(6, 2, 3));
+        int[][] empty = new int[6][6];
+        BudgetedSolver solver = new BudgetedSolver(model, empty);
+        assertEquals(BudgetedSolver.Status.BUDGET_EXHAUSTED, solver.run(1, NO_LIMIT));
+
+        BudgetedSolver.Checkpoint stolen = solver.split();
+        assertNotNull(stolen);
+        BudgetedSolver thief = new BudgetedSolver(model, stolen);
+
+        assertEquals(BudgetedSolver.Status.SOLVED, solver.run(NO_LIMIT, NO_LIMIT));
+        assertEquals(BudgetedSolver.Status.SOLVED, thief.run(NO_LIMIT, NO_LIMIT));
+        assertSolves(model, empty, solver.getSolution());
+        assertSolves(model, empty, thief.getSolution());
+        // Los subárboles no se solapan: difieren al menos en la decisión cedida
+        assertFalse(Arrays.deepEquals(solver.getSolution(), thief.getSolution()));
+    }
+
+    @Test
+    void splitReturnsNullOnceFinished() {
+        BudgetedSolver solver = new BudgetedSolver(MODEL_9, samplePuzzle(MODEL_9));
+        solver.run(NO_LIMIT, NO_LIMIT);
+        assertNull(solver.split());
+    }
+
+    @Test
+    void checkpointFromOtherRulesIsRejected() {
+        BudgetedSolver.Checkpoint checkpoint = BudgetedSolver.Checkpoint.of(MODEL_9, new int[9][9]);
+        ConstraintModel diagonal = ConstraintModel.compile(RuleSet.standard(9, 3, 3).withDiagonals());
+        assertThrows(IllegalArgumentException.class, () -> new BudgetedSolver(diagonal, checkpoint));
+    }
+
+    @Test
+    void checkpointWithCollidingRulesHashIsRejected() throws Exception {
+        // Jaulas distintas con el mismo hashCode: 31 * 3 + 31 + 40 == 31 * 4 + 31 + 9
+        RuleSet saved = RuleSet.standard(9, 3, 3).withCage(3, 40);
+        RuleSet other = RuleSet.standard(9, 3, 3).withCage(4, 9);
+        assertEquals(saved.hashCode(), other.hashCode());
+
+        BudgetedSolver.Checkpoint checkpoint = roundTrip(
+                BudgetedSolver.Checkpoint.of(ConstraintModel.compile(saved), new int[9][9]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BudgetedSolver(ConstraintModel.compile(other), checkpoint));
+        new BudgetedSolver(ConstraintModel.compile(RuleSet.standard(9, 3, 3).withCage(3, 40)), checkpoint);
+    }
+
+    @Test
+    void cancelFlagStopsTheSearch() {
+        BudgetedSolver solver = new BudgetedSolver(MODEL_9, new int[9][9]);
+        AtomicBoolean cancel = new AtomicBoolean(true);
+        solver.setCancelFlag(cancel);
+        assertEquals(BudgetedSolver.Status.CANCELLED, solver.run(NO_LIMIT, NO_LIMIT));
+        cancel.set(false);
+        assertEquals(BudgetedSolver.Status.SOLVED, solver.run(NO_LIMIT, NO_LIMIT));
+    }
+
+    @Test
+    void parallelSearchResumesAfterTimeout() {
+        ConstraintModel model = ConstraintModel.compile(RuleSet.standard(16, 4, 4));
+        int[][] empty = new int[16][16];
+
+        // Plazo vencido desde el principio: todo queda pendiente, nada se pierde
+        BudgetedSolver.Result result = BudgetedSolver.solveParallel(model, empty, 4, 0);
+        assertEquals(BudgetedSolver.Status.BUDGET_EXHAUSTED, result.status);
+        assertNull(result.solution);
+        assertFalse(result.pending.isEmpty());
+
+        List<BudgetedSolver.Checkpoint> pending = result.pending;
+        for (int round = 0; round < 20 && result.status == BudgetedSolver.Status.BUDGET_EXHAUSTED; round++) {
+            result = BudgetedSolver.resumeParallel(model, pending, 4, TimeUnit.SECONDS.toNanos(5));
+            pending = result.pending;
+        }
+        assertEquals(BudgetedSolver.Status.SOLVED, result.status);
+        assertSolves(model, empty, result.solution);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.sudoku_express.Models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CanonicalizerTest {
+
+    /** Aplica una transformación al azar que conserva la validez (la misma familia que canoniza Canonicalizer). */
+    private static int[][] shuffle(int[][] grid, int blockRows, int blockCols, Random random) {
+        int size = grid.length;
+        int[] labels = new int[size + 1];
+        int[] digits = permutation(size, random);
+        for (int d = 1; d <= size; d++) labels[d] = digits[d - 1] + 1;
+        int[] rowMap = groupedPermutation(size / blockRows, blockRows, random);
+        int[] colMap = groupedPermutation(size / blockCols, blockCols, random);
+        boolean transpose = blockRows == blockCols && random.nextBoolean();
+
+        int[][] out = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int value = labels[grid[rowMap[r]][colMap[c]]];
+                if (transpose) out[c][r] = value;
+                else out[r][c] = value;
+            }
+        }
+        return out;
+    }
+
+    private static int[] groupedPermutation(int groups, int groupSize, Random random) {
+        int[] groupOrder = permutation(groups, random);
+        int[] map = new int[groups * groupSize];
+        for (int g = 0; g < groups; g++) {
+            int[] inner = permutation(groupSize, random);
+            for (int i = 0; i < groupSize; i++) map[g * groupSize + i] = groupOrder[g] * groupSize + inner[i];
+        }
+        return map;
+    }
+
+    private static int[] permutation(int n, Random random) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) p[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = p[i];
+            p[i] = p[j];
+            p[j] = tmp;
+        }
+        return p;
+    }
+
+    private static int[][] samplePuzzle(int size, int blockRows, int blockCols) {
+        ConstraintModel model = ConstraintModel.compile(RuleSet.standard(size, blockRows, blockCols));
+        PuzzleGenerator generator = new PuzzleGenerator();
+        return generator.generatePuzzleFromSolution(generator.generateFullSolution(model), model);
+    }
+
+    @Test
+    void equivalentBoardsShareCanonicalForm() {
+        Random random = new Random(7);
+        Canonicalizer canonicalizer = new Canonicalizer(6, 2, 3);
+        for (int i = 0; i < 20; i++) {
+            int[][] puzzle = samplePuzzle(6, 2, 3);
+            byte[] expected = canonicalizer.canonicalForm(puzzle);
+            for (int j = 0; j < 5; j++) {
+                assertArrayEquals(expected, canonicalizer.canonicalForm(shuffle(puzzle, 2, 3, random)));
+            }
+        }
+    }
+
+    @Test
+    void transpositionIsCoveredWhenBlocksAreSquare() {
+        Random random = new Random(11);
+        Canonicalizer canonicalizer = new Canonicalizer(4, 2, 2);
+        for (int i = 0; i < 20; i++) {
+            int[][] puzzle = samplePuzzle(4, 2, 2);
+            int[][] transposed = new int[4][4];
+            for (int r = 0; r < 4; r++) for (int c = 0; c < 4; c++) transposed[c][r] = puzzle[r][c];
+
+            byte[] expected = canonicalizer.canonicalForm(puzzle);
+            assertArrayEquals(expected, canonicalizer.canonicalForm(transposed));
+            assertArrayEquals(expected, canonicalizer.canonicalForm(shuffle(puzzle, 2, 2, random)));
+        }
+    }
+
+    @Test
+    void emptyCellsStayEmptyAndDifferentBoardsDiffer() {
+        Canonicalizer canonicalizer = new Canonicalizer(6, 2, 3);
+        int[][] puzzle = samplePuzzle(6, 2, 3);
+        byte[] form = canonicalizer.canonicalForm(puzzle);
+
+        int empty = 0, canonicalEmpty = 0;
+        for (int[] row : puzzle) for (int v : row) if (v == 0) empty++;
+        for (byte b : form) if (b == 0) canonicalEmpty++;
+        assertEquals(empty, canonicalEmpty);
+
+        // Quitar una pista cambia la cantidad de celdas vacías: no puede ser equivalente
+        int[][] fewer = new int[6][];
+        for (int r = 0; r < 6; r++) fewer[r] = puzzle[r].clone();
+        outer:
+        for (int r = 0; r < 6; r++) {
+            for (int c = 0; c < 6; c++) {
+                if (fewer[r][c] != 0) {
+                    fewer[r][c] = 0;
+                    break outer;
+                }
+            }
+        }
+        assertFalse(Arrays.equals(form, canonicalizer.canonicalForm(fewer)));
+    }
+}
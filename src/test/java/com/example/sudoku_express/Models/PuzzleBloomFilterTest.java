@@ -0,0 +1,92 @@
+package com.example.sudoku_express.Models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleBloomFilterTest {
+
+    private static byte[] key(int i) {
+        return ByteBuffer.allocate(8).putInt(i).putInt(i * 31).array();
+    }
+
+    @Test
+    void newFileHasHeaderAndReservedBits(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("servidos.bloom");
+        PuzzleBloomFilter.open(file, 1000, 0.01).close();
+
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(0x53424C46, header.getInt());
+        int hashes = header.getInt();
+        long bitCount = header.getLong();
+        // m = -n ln p / (ln 2)^2 ≈ 9586 bits, redondeado a 150 palabras; k = (m / n) ln 2 ≈ 7
+        assertEquals(9600, bitCount);
+        assertEquals(7, hashes);
+        assertEquals(16 + bitCount / 8, Files.size(file));
+    }
+
+    @Test
+    void keysSurviveReopenWithoutFalseNegatives(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("servidos.bloom");
+        try (PuzzleBloomFilter filter = PuzzleBloomFilter.open(file, 1000, 0.01)) {
+            for (int i = 0; i < 500; i++) assertTrue(filter.put(key(i)));
+            assertFalse(filter.put(key(0)));
+        }
+        byte[] written = Files.readAllBytes(file);
+
+        // Los parámetros del archivo mandan sobre los que se pasan al reabrir
+        try (PuzzleBloomFilter filter = PuzzleBloomFilter.open(file, 10, 0.5)) {
+            for (int i = 0; i < 500; i++) assertTrue(filter.mightContain(key(i)));
+            int falsePositives = 0;
+            for (int i = 500; i < 10_500; i++) if (filter.mightContain(key(i))) falsePositives++;
+            assertTrue(falsePositives < 200, "falsos positivos: " + falsePositives);
+        }
+        assertEquals(written.length, Files.size(file));
+    }
+
+    @Test
+    void reportsFullAtDesignCapacity(@TempDir Path dir) throws IOException {
+        try (PuzzleBloomFilter filter = PuzzleBloomFilter.open(dir.resolve("servidos.bloom"), 1000, 0.01)) {
+            for (int i = 0; i < 800; i++) filter.put(key(i));
+            assertFalse(filter.isFull());
+            long estimate = filter.approximateCount();
+            assertTrue(Math.abs(estimate - 800) < 40, "estimado: " + estimate);
+            for (int i = 800; i < 1100; i++) filter.put(key(i));
+            assertTrue(filter.isFull(), "llenado: " + filter.getFillRatio());
+        }
+        // El llenado se recalcula al reabrir
+        try (PuzzleBloomFilter filter = PuzzleBloomFilter.open(dir.resolve("servidos.bloom"), 1000, 0.01)) {
+            assertTrue(filter.isFull());
+        }
+    }
+
+    @Test
+    void fileIsReleasedAfterClose(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("servidos.bloom");
+        PuzzleBloomFilter filter = PuzzleBloomFilter.open(file, 1000, 0.01);
+        filter.put(key(1));
+        filter.close();
+        Files.delete(file);
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void rejectsForeignOrCorruptFiles(@TempDir Path dir) throws IOException {
+        Path foreign = dir.resolve("otro.bin");
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> PuzzleBloomFilter.open(foreign, 1000, 0.01));
+
+        Path corrupt = dir.resolve("corrupto.bloom");
+        Files.write(corrupt, ByteBuffer.allocate(16).putInt(0x53424C46).putInt(0).putLong(100).array());
+        assertThrows(IOException.class, () -> PuzzleBloomFilter.open(corrupt, 1000, 0.01));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sudoku_express.Models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotatingPuzzleFilterTest {
+
+    private static byte[] key(int i) {
+        return ByteBuffer.allocate(8).putInt(i).putInt(~i).array();
+    }
+
+    private static int falsePositives(RotatingPuzzleFilter filter, int from, int count) {
+        int hits = 0;
+        for (int i = from; i < from + count; i++) if (filter.mightContain(key(i))) hits++;
+        return hits;
+    }
+
+    @Test
+    void rotatesInsteadOfSaturating(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("servidos.bloom");
+        try (RotatingPuzzleFilter filter = RotatingPuzzleFilter.open(file, 1000, 0.01)) {
+            // Diez veces la capacidad de una generación
+            for (int i = 0; i < 10_000; i++) filter.put(key(i));
+
+            assertTrue(filter.getRotations() >= 9, "rotaciones: " + filter.getRotations());
+            for (int i = 9_000; i < 10_000; i++) assertTrue(filter.mightContain(key(i)));
+            // Dos filtros de 1% como mucho: lejos del ~100% de un filtro saturado
+            int fp = falsePositives(filter, 1_000_000, 10_000);
+            assertTrue(fp < 400, "falsos positivos: " + fp);
+        }
+        assertTrue(Files.exists(dir.resolve("servidos.bloom.old")));
+    }
+
+    @Test
+    void bothGenerationsSurviveReopen(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("servidos.bloom");
+        int inserted = 0;
+        try (RotatingPuzzleFilter filter = RotatingPuzzleFilter.open(file, 1000, 0.01)) {
+            while (filter.getRotations() == 0) filter.put(key(inserted++));
+            for (int i = 0; i < 100; i++) filter.put(key(inserted++));
+        }
+        try (RotatingPuzzleFilter filter = RotatingPuzzleFilter.open(file, 1000, 0.01)) {
+            for (int i = 0; i < inserted; i++) assertTrue(filter.mightContain(key(i)), "clave " + i);
+            assertEquals(0, filter.getRotations());
+        }
+    }
+}
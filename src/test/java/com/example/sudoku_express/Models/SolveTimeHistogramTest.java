@@ -0,0 +1,110 @@
+package com.example.sudoku_express.Models;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolveTimeHistogramTest {
+
+    private static final double[] PERCENTILES = {0, 1, 10, 25, 50, 75, 90, 99, 99.9, 100};
+
+    @Test
+    void emptyHistogramAnswersZero() {
+        SolveTimeHistogram h = new SolveTimeHistogram();
+        assertEquals(0, h.valueAtPercentile(50));
+        assertEquals(0, h.getTotalCount());
+        assertEquals(0.0, h.getMean(), 0.0);
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        SolveTimeHistogram h = new SolveTimeHistogram();
+        for (int v = 1; v <= 100; v++) h.record(v);
+        assertEquals(1, h.valueAtPercentile(0));
+        assertEquals(50, h.valueAtPercentile(50));
+        assertEquals(90, h.valueAtPercentile(90));
+        assertEquals(100, h.valueAtPercentile(100));
+        assertEquals(50.5, h.getMean(), 1e-9);
+    }
+
+    @Test
+    void percentilesStayWithinRelativeError() {
+        // Tiempos de partida entre 1 s y ~3 h con cola larga
+        Random random = new Random(42);
+        long[] values = new long[50_000];
+        SolveTimeHistogram h = new SolveTimeHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1000 + (long) Math.exp(random.nextDouble() * 16);
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : PERCENTILES) {
+            int rank = Math.max(1, (int) Math.ceil(p / 100.0 * values.length));
+            long exact = values[rank - 1];
+            long estimate = h.valueAtPercentile(p);
+            assertTrue(Math.abs(estimate - exact) <= exact / 64.0 + 1,
+                    "p" + p + ": exacto " + exact + ", estimado " + estimate);
+        }
+        assertEquals(values[values.length - 1], h.getMax());
+    }
+
+    @Test
+    void mergeEqualsRecordingEverything() {
+        Random random = new Random(3);
+        SolveTimeHistogram all = new SolveTimeHistogram();
+        SolveTimeHistogram a = new SolveTimeHistogram();
+        SolveTimeHistogram b = new SolveTimeHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextInt(2_000_000);
+            all.record(v);
+            (i % 2 == 0 ? a : b).record(v);
+        }
+        a.merge(b);
+
+        assertEquals(all.getTotalCount(), a.getTotalCount());
+        assertEquals(all.getMax(), a.getMax());
+        assertEquals(all.getMean(), a.getMean(), 1e-9);
+        for (double p : PERCENTILES) assertEquals(all.valueAtPercentile(p), a.valueAtPercentile(p));
+    }
+
+    @Test
+    void serializationRoundTripKeepsEverything() throws IOException {
+        Random random = new Random(9);
+        SolveTimeHistogram h = new SolveTimeHistogram();
+        for (int i = 0; i < 5_000; i++) h.record(random.nextInt(10_000_000));
+        h.record(-5);              // cuenta como 0
+        h.record(Long.MAX_VALUE);  // se recorta al máximo representable
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        h.writeTo(new DataOutputStream(bytes));
+        SolveTimeHistogram copy = SolveTimeHistogram.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(h.getTotalCount(), copy.getTotalCount());
+        assertEquals(h.getMax(), copy.getMax());
+        assertEquals(h.getMean(), copy.getMean(), 1e-9);
+        for (double p : PERCENTILES) assertEquals(h.valueAtPercentile(p), copy.valueAtPercentile(p));
+    }
+
+    @Test
+    void readRejectsBucketOutOfRange() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        SolveTimeHistogram.writeVarLong(out, 1);          // una cubeta no vacía
+        SolveTimeHistogram.writeVarLong(out, 1_000_000);  // índice imposible
+        SolveTimeHistogram.writeVarLong(out, 1);
+
+        assertThrows(IOException.class, () ->
+                SolveTimeHistogram.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+}
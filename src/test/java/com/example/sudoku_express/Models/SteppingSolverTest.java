@@ -0,0 +1,92 @@
+package com.example.sudoku_express.Models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SteppingSolverTest {
+
+    private static final ConstraintModel MODEL = ConstraintModel.compile(RuleSet.standard(6, 2, 3));
+
+    private static int[][] samplePuzzle() {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        return generator.generatePuzzleFromSolution(generator.generateFullSolution(MODEL), MODEL);
+    }
+
+    /** Celdas más profundidad: todo lo que debe volver a ser igual al deshacer. */
+    private static int[] snapshot(SteppingSolver solver) {
+        int cells = solver.getSize() * solver.getSize();
+        int[] state = new int[cells + 1];
+        for (int cell = 0; cell < cells; cell++) state[cell] = solver.getValue(cell);
+        state[cells] = solver.getDepth();
+        return state;
+    }
+
+    @Test
+    void rewindRestoresEveryPreviousState() {
+        SteppingSolver solver = new SteppingSolver(MODEL, samplePuzzle(), 10_000);
+        List<int[]> states = new ArrayList<>();
+        List<Integer> changed = new ArrayList<>();
+        states.add(snapshot(solver));
+        int cell;
+        while ((cell = solver.step()) >= 0) {
+            changed.add(cell);
+            states.add(snapshot(solver));
+        }
+        assertEquals(SteppingSolver.Status.SOLVED, solver.getStatus());
+        assertEquals(changed.size(), solver.getSteps());
+
+        for (int i = changed.size() - 1; i >= 0; i--) {
+            assertEquals((int) changed.get(i), solver.rewind());
+            assertArrayEquals(states.get(i), snapshot(solver), "tras deshacer hasta el paso " + i);
+            assertEquals(SteppingSolver.Status.RUNNING, solver.getStatus());
+        }
+        assertEquals(-1, solver.rewind());
+        assertEquals(0, solver.getSteps());
+    }
+
+    @Test
+    void replayAfterRewindFollowsTheSamePath() {
+        SteppingSolver solver = new SteppingSolver(MODEL, samplePuzzle(), 10_000);
+        List<Integer> path = new ArrayList<>();
+        int cell;
+        while ((cell = solver.step()) >= 0) path.add(cell);
+        int[] solved = snapshot(solver);
+
+        int back = path.size() / 2;
+        for (int i = 0; i < back; i++) solver.rewind();
+        for (int i = path.size() - back; i < path.size(); i++) assertEquals((int) path.get(i), solver.step());
+
+        assertEquals(-1, solver.step());
+        assertEquals(SteppingSolver.Status.SOLVED, solver.getStatus());
+        assertArrayEquals(solved, snapshot(solver));
+    }
+
+    @Test
+    void historyKeepsOnlyTheLastSteps() {
+        SteppingSolver solver = new SteppingSolver(MODEL, new int[6][6], 5);
+        for (int i = 0; i < 20; i++) assertTrue(solver.step() >= 0);
+        for (int i = 0; i < 5; i++) assertTrue(solver.rewind() >= 0);
+        assertEquals(-1, solver.rewind());
+        assertEquals(15, solver.getSteps());
+    }
+
+    @Test
+    void contradictoryGivensEndUnsolvable() {
+        // (0,1) no admite ningún dígito: 1 y 6 en su fila, 2..5 en su columna
+        int[][] start = new int[6][6];
+        start[0][0] = 1;
+        start[0][2] = 6;
+        for (int r = 2; r < 6; r++) start[r][1] = r;
+        SteppingSolver solver = new SteppingSolver(MODEL, start, 100);
+        while (solver.step() >= 0) {
+            // avanzar hasta agotar la búsqueda
+        }
+        assertEquals(SteppingSolver.Status.UNSOLVABLE, solver.getStatus());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.sudoku_express.Network;
+
+import com.example.sudoku_express.Models.ConstraintModel;
+import com.example.sudoku_express.Models.PuzzleGenerator;
+import com.example.sudoku_express.Models.PuzzlePacker;
+import com.example.sudoku_express.Models.RuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RaceClientTest {
+
+    private static final RuleSet RULES = RuleSet.standard(6, 2, 3);
+
+    private RaceServer server;
+    private int[][] puzzle;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        ConstraintModel model = ConstraintModel.compile(RULES);
+        PuzzleGenerator generator = new PuzzleGenerator();
+        puzzle = generator.generatePuzzleFromSolution(generator.generateFullSolution(model), model);
+        server = new RaceServer(0, RULES, PuzzlePacker.pack(puzzle));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    /** Guarda lo que llega del servidor para comprobarlo desde el hilo de la prueba. */
+    private static final class Recorder implements RaceClient.Listener {
+        final CountDownLatch welcome = new CountDownLatch(1);
+        final CountDownLatch disconnected = new CountDownLatch(1);
+        final BlockingQueue<int[]> moves = new LinkedBlockingQueue<>();
+        volatile int playerId = -1;
+        volatile int[][] puzzle;
+        volatile IOException cause;
+
+        @Override
+        public void onWelcome(int playerId, int size, int blockRows, int blockCols, int[][] puzzle) {
+            this.playerId = playerId;
+            this.puzzle = puzzle;
+            welcome.countDown();
+        }
+
+        @Override
+        public void onMove(int playerId, int row, int col, int value) {
+            moves.add(new int[]{playerId, row, col, value});
+        }
+
+        @Override
+        public void onFinish(int playerId, int place) {
+        }
+
+        @Override
+        public void onDisconnected(IOException cause) {
+            this.cause = cause;
+            disconnected.countDown();
+        }
+    }
+
+    private RaceClient connect(Recorder recorder) throws Exception {
+        RaceClient client = RaceClient.connect("127.0.0.1", server.getPort(), recorder);
+        assertTrue(recorder.welcome.await(5, TimeUnit.SECONDS), "no llegó el tablero");
+        return client;
+    }
+
+    @Test
+    void movesReachTheOtherPlayers() throws Exception {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        RaceClient a = connect(first);
+        RaceClient b = connect(second);
+        try {
+            assertArrayEquals(puzzle, first.puzzle);
+
+            int cell = 0;
+            while (puzzle[cell / 6][cell % 6] != 0) cell++;
+            a.sendMove(cell / 6, cell % 6, 3);
+
+            int[] move;
+            do {
+                move = second.moves.poll(5, TimeUnit.SECONDS);
+                assertNotNull(move, "la jugada no llegó al rival");
+            } while (move[0] != first.playerId);
+            assertArrayEquals(new int[]{first.playerId, cell / 6, cell % 6, 3}, move);
+        } finally {
+            a.close();
+            b.close();
+        }
+    }
+
+    @Test
+    void serverShutdownIsReported() throws Exception {
+        Recorder recorder = new Recorder();
+        RaceClient client = connect(recorder);
+        try {
+            server.stop();
+            assertTrue(recorder.disconnected.await(5, TimeUnit.SECONDS), "no se avisó la desconexión");
+            assertNotNull(recorder.cause);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    void ownCloseIsNotReported() throws Exception {
+        Recorder recorder = new Recorder();
+        RaceClient client = connect(recorder);
+        client.close();
+        assertFalse(recorder.disconnected.await(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, recorder.disconnected.getCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.sudoku_express.Network;
+
+import com.example.sudoku_express.Models.ConstraintModel;
+import com.example.sudoku_express.Models.PuzzleGenerator;
+import com.example.sudoku_express.Models.PuzzlePacker;
+import com.example.sudoku_express.Models.RuleSet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga por loopback: levanta un RaceServer y conecta N bots que resuelven
+ * el mismo tablero enviando una jugada cada pocos milisegundos.
+ * Al final imprime jugadas enviadas, mensajes recibidos y el tiempo total de la carrera.
+ *
+ * Es una herramienta manual (no una prueba de JUnit): se ejecuta desde las clases de prueba.
+ * Uso: RaceLoadHarness [jugadores=300] [msEntreJugadas=5]
+ */
+public class RaceLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int botCount = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int moveDelayMs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        RuleSet rules = RuleSet.standard(6, 2, 3);
+        PuzzleGenerator generator = new PuzzleGenerator();
+        int[][] solution = generator.generateFullSolution(ConstraintModel.compile(rules));
+        int[][] puzzle = generator.generatePuzzleFromSolution(solution, ConstraintModel.compile(rules));
+
+        RaceServer server = new RaceServer(0, rules, PuzzlePacker.pack(puzzle));
+        server.start();
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        CountDownLatch allFinished = new CountDownLatch(botCount);
+        AtomicLong movesSent = new AtomicLong();
+        AtomicLong messagesReceived = new AtomicLong();
+        List<RaceClient> clients = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < botCount; i++) {
+            Bot bot = new Bot(scheduler, moveDelayMs, movesSent, messagesReceived, allFinished, i);
+            RaceClient client = RaceClient.connect("127.0.0.1", server.getPort(), bot);
+            bot.client = client;
+            clients.add(client);
+        }
+
+        boolean done = allFinished.await(5, TimeUnit.MINUTES);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Jugadores: %d  terminaron: %s  tiempo: %d ms%n", botCount, done ? "todos" : "NO", elapsedMs);
+        System.out.printf("Jugadas enviadas: %d (%d bytes)  mensajes recibidos: %d (~%d bytes)%n",
+                movesSent.get(), movesSent.get() * RaceProtocol.PLACE_BYTES,
+                messagesReceived.get(), messagesReceived.get() * RaceProtocol.MOVE_BYTES);
+        System.out.printf("Difusión: %.0f mensajes/s%n", messagesReceived.get() * 1000.0 / Math.max(1, elapsedMs));
+
+        for (RaceClient client : clients) client.close();
+        scheduler.shutdownNow();
+        server.stop();
+    }
+
+    /** Bot que resuelve el tablero recibido y lo envía celda por celda. */
+    private static final class Bot implements RaceClient.Listener {
+        private final ScheduledExecutorService scheduler;
+        private final int moveDelayMs;
+        private final AtomicLong movesSent;
+        private final AtomicLong messagesReceived;
+        private final CountDownLatch allFinished;
+        private final Random random;
+        private volatile RaceClient client;
+        private volatile int myId = -1;
+
+        Bot(ScheduledExecutorService scheduler, int moveDelayMs, AtomicLong movesSent,
+            AtomicLong messagesReceived, CountDownLatch allFinished, long seed) {
+            this.scheduler = scheduler;
+            this.moveDelayMs = moveDelayMs;
+            this.movesSent = movesSent;
+            this.messagesReceived = messagesReceived;
+            this.allFinished = allFinished;
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public void onWelcome(int playerId, int size, int blockRows, int blockCols, int[][] puzzle) {
+            myId = playerId;
+            int[][] grid = new int[size][];
+            for (int r = 0; r < size; r++) grid[r] = puzzle[r].clone();
+            new PuzzleGenerator().solve(grid, ConstraintModel.compile(RuleSet.standard(size, blockRows, blockCols)));
+
+            List<int[]> moves = new ArrayList<>();
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    if (puzzle[r][c] == 0) moves.add(new int[]{r, c, grid[r][c]});
+                }
+            }
+            java.util.Collections.shuffle(moves, random);
+            scheduleMove(moves, 0);
+        }
+
+        private void scheduleMove(List<int[]> moves, int index) {
+            if (index >= moves.size()) return;
+            scheduler.schedule(() -> {
+                int[] move = moves.get(index);
+                while (client == null) Thread.onSpinWait();
+                client.sendMove(move[0], move[1], move[2]);
+                movesSent.incrementAndGet();
+                scheduleMove(moves, index + 1);
+            }, random.nextInt(moveDelayMs + 1), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void onMove(int playerId, int row, int col, int value) {
+            messagesReceived.incrementAndGet();
+        }
+
+        @Override
+        public void onFinish(int playerId, int place) {
+            messagesReceived.incrementAndGet();
+            if (playerId == myId) allFinished.countDown();
+        }
+
+        @Override
+        public void onDisconnected(IOException cause) {
+            System.err.println("❌ Bot desconectado: " + cause.getMessage());
+            allFinished.countDown();
+        }
+    }
+}